@@ -1,5 +1,6 @@
 package com.isdisponivel.ready.controller;
 
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
 import com.isdisponivel.ready.dto.GastosDTO;
 import com.isdisponivel.ready.model.Gastos;
 import com.isdisponivel.ready.service.GastosService;
@@ -44,6 +45,13 @@ public class GastosController {
         return ResponseEntity.ok(gastos);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Gastos>> obterPorIds(@RequestParam List<Long> ids) {
+        log.info("Buscando gastos com IDs: {}", ids);
+        List<Gastos> gastos = gastosService.obterPorIds(ids);
+        return ResponseEntity.ok(gastos);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Gastos> obterPorId(@PathVariable Long id) {
         log.info("Buscando gasto com ID: {}", id);
@@ -105,6 +113,13 @@ public class GastosController {
         return ResponseEntity.ok(gastos);
     }
 
+    @GetMapping("/pesquisar")
+    public ResponseEntity<List<Gastos>> pesquisar(@Valid @ModelAttribute FiltroGastosDTO filtro) {
+        log.info("Pesquisando gastos com filtro: {}", filtro);
+        List<Gastos> gastos = gastosService.pesquisar(filtro);
+        return ResponseEntity.ok(gastos);
+    }
+
     // ==================== ATUALIZAR ====================
 
     @PutMapping("/{id}")
@@ -0,0 +1,54 @@
+package com.isdisponivel.ready.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroGastosDTO {
+
+    private Boolean pago;
+
+    private Boolean atrasado;
+
+    private Boolean recorrente;
+
+    @Size(max = 50, message = "Forma de pagamento deve ter no máximo 50 caracteres")
+    private String formaDePagamento;
+
+    @DecimalMin(value = "0.00", message = "Valor mínimo não pode ser negativo")
+    private BigDecimal valorMinimo;
+
+    @DecimalMin(value = "0.00", message = "Valor máximo não pode ser negativo")
+    private BigDecimal valorMaximo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataInicio;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataFim;
+
+    @Size(max = 255, message = "Termo deve ter no máximo 255 caracteres")
+    private String termo;
+
+    @Builder.Default
+    @NotBlank(message = "Campo de ordenação é obrigatório")
+    private String ordenarPor = "dataCriacao";
+
+    @Builder.Default
+    @NotBlank(message = "Direção da ordenação é obrigatória")
+    private String direcao = "DESC";
+
+    @Builder.Default
+    @NotNull(message = "Limite é obrigatório")
+    @Min(value = 1, message = "Limite deve ser no mínimo 1")
+    @Max(value = 500, message = "Limite deve ser no máximo 500")
+    private Integer limite = 50;
+
+}
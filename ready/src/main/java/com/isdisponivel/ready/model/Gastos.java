@@ -10,7 +10,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "produto_ent")
+@Table(name = "produto_ent", indexes = {
+        @Index(name = "idx_produto_ent_arquivamento", columnList = "pago, atrasado, recorrente, data_atualizacao"),
+        @Index(name = "idx_produto_ent_forma_pago_data", columnList = "forma_de_pagamento, pago, data_criacao"),
+        @Index(name = "idx_produto_ent_data_criacao", columnList = "data_criacao")
+})
 @Getter
 @Setter
 @NoArgsConstructor
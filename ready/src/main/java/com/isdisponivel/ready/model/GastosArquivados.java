@@ -0,0 +1,74 @@
+package com.isdisponivel.ready.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cópia fria de um gasto quitado e antigo, movido de produto_ent pelo ArquivamentoService.
+ * Mantém o mesmo ID e versão do registro original para que possa ser restaurado sem alterações.
+ */
+@Entity
+@Table(name = "produto_ent_arquivo", indexes = {
+        @Index(name = "idx_produto_ent_arquivo_data_criacao", columnList = "data_criacao")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+@ToString
+public class GastosArquivados {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String descricao;
+
+    @Column(nullable = false, length = 50)
+    private String formaDePagamento;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal valor;
+
+    @Column(nullable = false)
+    private Boolean pago;
+
+    @Column(nullable = false)
+    private Boolean atrasado;
+
+    @Column(nullable = false)
+    private Boolean recorrente;
+
+    @Column(nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataArquivamento;
+
+    public Gastos paraGastos() {
+        return Gastos.builder()
+                .id(id)
+                .descricao(descricao)
+                .formaDePagamento(formaDePagamento)
+                .valor(valor)
+                .pago(pago)
+                .atrasado(atrasado)
+                .recorrente(recorrente)
+                .dataCriacao(dataCriacao)
+                .dataAtualizacao(dataAtualizacao)
+                .versao(versao)
+                .build();
+    }
+
+}
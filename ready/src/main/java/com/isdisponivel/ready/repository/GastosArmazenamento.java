@@ -0,0 +1,70 @@
+package com.isdisponivel.ready.repository;
+
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
+import com.isdisponivel.ready.model.Gastos;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Operações de persistência usadas pelo GastosService. A implementação é escolhida por
+ * {@code gastos.armazenamento.modo}: {@code jpa} (padrão, MySQL) ou {@code journal} (arquivo local).
+ * <p>
+ * {@link #salvar(Gastos)} segue a semântica de {@code versao} do JPA: um gasto já existente só é gravado se
+ * a versão informada for a atual; caso contrário lança
+ * {@link org.springframework.orm.ObjectOptimisticLockingFailureException}.
+ * <p>
+ * Todas as listagens vêm em {@link #MAIS_RECENTES_PRIMEIRO}, qualquer que seja o modo, para que trocar o
+ * armazenamento não mude a ordem das respostas da API. Só {@link #pesquisar} usa a ordenação pedida.
+ */
+public interface GastosArmazenamento {
+
+    Comparator<Gastos> MAIS_RECENTES_PRIMEIRO = Comparator
+            .comparing(Gastos::getDataCriacao, Comparator.reverseOrder())
+            .thenComparing(Gastos::getId, Comparator.reverseOrder());
+
+    Gastos salvar(Gastos gastos);
+
+    void deletar(Gastos gastos);
+
+    Optional<Gastos> buscarPorId(Long id);
+
+    /**
+     * Como {@link #buscarPorId(Long)}, mas devolve o gasto pronto para ser alterado e salvo.
+     */
+    Optional<Gastos> buscarParaAlteracao(Long id);
+
+    /**
+     * IDs inexistentes ficam fora do mapa.
+     */
+    Map<Long, Gastos> buscarPorIds(Collection<Long> ids);
+
+    List<Gastos> listarTodos();
+
+    List<Gastos> buscarPorFormaDePagamento(String formaDePagamento);
+
+    List<Gastos> buscarAtrasados();
+
+    List<Gastos> buscarNaoPagos();
+
+    List<Gastos> buscarRecorrentes();
+
+    List<Gastos> buscarPorDescricao(String termo);
+
+    List<Gastos> buscarPorStatusPagamento(Boolean pago);
+
+    List<Gastos> buscarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim);
+
+    /**
+     * O filtro já chega validado; {@code ordenacao} corresponde a ordenarPor e direcao, com desempate por ID.
+     */
+    List<Gastos> pesquisar(FiltroGastosDTO filtro, Comparator<Gastos> ordenacao);
+
+    BigDecimal somarValores();
+
+}
@@ -0,0 +1,50 @@
+package com.isdisponivel.ready.repository;
+
+import com.isdisponivel.ready.model.GastosArquivados;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GastosArquivadosRepository extends JpaRepository<GastosArquivados, Long> {
+
+    List<GastosArquivados> findByFormaDePagamento(String formaDePagamento);
+
+    List<GastosArquivados> findAllByOrderByDataCriacaoDescIdDesc();
+
+    @Query("SELECT g FROM GastosArquivados g WHERE g.descricao LIKE %:termo% ORDER BY g.dataCriacao DESC, g.id DESC")
+    List<GastosArquivados> buscarPorDescricao(@Param("termo") String termo);
+
+    @Query("SELECT g FROM GastosArquivados g WHERE g.dataCriacao BETWEEN :dataInicio AND :dataFim ORDER BY g.dataCriacao DESC, g.id DESC")
+    List<GastosArquivados> buscarPorPeriodo(@Param("dataInicio") LocalDateTime dataInicio, @Param("dataFim") LocalDateTime dataFim);
+
+    @Query("SELECT COALESCE(SUM(g.valor), 0) FROM GastosArquivados g")
+    BigDecimal somarValores();
+
+    @Query("SELECT MAX(g.dataCriacao) FROM GastosArquivados g")
+    Optional<LocalDateTime> buscarMaiorDataCriacao();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM GastosArquivados g WHERE g.id = :id")
+    Optional<GastosArquivados> buscarParaRestaurar(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT INTO produto_ent_arquivo (id, descricao, forma_de_pagamento, valor, pago, atrasado, recorrente, " +
+            "data_criacao, data_atualizacao, versao, data_arquivamento) " +
+            "SELECT id, descricao, forma_de_pagamento, valor, pago, atrasado, recorrente, " +
+            "data_criacao, data_atualizacao, versao, :agora FROM produto_ent " +
+            "WHERE id IN (:ids) AND pago = true AND atrasado = false AND recorrente = false " +
+            "AND data_atualizacao < :limite", nativeQuery = true)
+    int arquivar(@Param("ids") Collection<Long> ids, @Param("limite") LocalDateTime limite, @Param("agora") LocalDateTime agora);
+
+}
@@ -0,0 +1,44 @@
+package com.isdisponivel.ready.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Executa a pesquisa combinada numa única consulta com ORDER BY e LIMIT, sem a consulta de contagem
+ * que o findAll(Specification, Pageable) do Spring Data faria.
+ */
+@Repository
+@ConditionalOnProperty(name = "gastos.armazenamento.modo", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class GastosPesquisaRepository {
+
+    private final EntityManager entityManager;
+
+    public <T> List<T> pesquisar(Class<T> entidade, Specification<T> especificacao, Sort ordenacao, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entidade);
+        Root<T> root = query.from(entidade);
+
+        Predicate predicado = especificacao.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(QueryUtils.toOrders(ordenacao, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+}
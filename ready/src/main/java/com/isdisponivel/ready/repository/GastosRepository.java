@@ -1,33 +1,57 @@
 package com.isdisponivel.ready.repository;
 
 import com.isdisponivel.ready.model.Gastos;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface GastosRepository extends JpaRepository<Gastos, Long> {
 
     List<Gastos> findByFormaDePagamento(String formaDePagamento);
 
-    List<Gastos> findByAtrasadoTrue();
+    List<Gastos> findByAtrasadoTrueOrderByDataCriacaoDescIdDesc();
 
-    List<Gastos> findByPagoFalse();
+    List<Gastos> findByPagoFalseOrderByDataCriacaoDescIdDesc();
 
-    List<Gastos> findByRecorrenteTrueOrderByDataCriacaoDesc();
+    List<Gastos> findByRecorrenteTrueOrderByDataCriacaoDescIdDesc();
 
-    @Query("SELECT g FROM Gastos g WHERE g.descricao LIKE %:termo% ORDER BY g.dataCriacao DESC")
+    @Query("SELECT g FROM Gastos g WHERE g.descricao LIKE %:termo% ORDER BY g.dataCriacao DESC, g.id DESC")
     List<Gastos> buscarPorDescricao(@Param("termo") String termo);
 
-    @Query("SELECT g FROM Gastos g WHERE g.pago = :pago ORDER BY g.dataCriacao DESC")
+    @Query("SELECT g FROM Gastos g WHERE g.pago = :pago ORDER BY g.dataCriacao DESC, g.id DESC")
     List<Gastos> buscarPorStatusPagamento(@Param("pago") Boolean pago);
 
-    @Query("SELECT g FROM Gastos g WHERE g.dataCriacao BETWEEN :dataInicio AND :dataFim ORDER BY g.dataCriacao DESC")
+    @Query("SELECT g FROM Gastos g WHERE g.dataCriacao BETWEEN :dataInicio AND :dataFim ORDER BY g.dataCriacao DESC, g.id DESC")
     List<Gastos> buscarPorPeriodo(@Param("dataInicio") LocalDateTime dataInicio, @Param("dataFim") LocalDateTime dataFim);
 
-}
\ No newline at end of file
+    @Query("SELECT COALESCE(SUM(g.valor), 0) FROM Gastos g")
+    BigDecimal somarValores();
+
+    // ==================== ARQUIVAMENTO ====================
+
+    @Query("SELECT g.id FROM Gastos g WHERE g.pago = true AND g.atrasado = false AND g.recorrente = false " +
+            "AND g.dataAtualizacao < :limite ORDER BY g.id")
+    List<Long> buscarIdsArquivaveis(@Param("limite") LocalDateTime limite, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Gastos g WHERE g.id IN :ids AND g.pago = true AND g.atrasado = false AND g.recorrente = false " +
+            "AND g.dataAtualizacao < :limite")
+    int removerArquivados(@Param("ids") Collection<Long> ids, @Param("limite") LocalDateTime limite);
+
+    @Modifying
+    @Query(value = "INSERT INTO produto_ent (id, descricao, forma_de_pagamento, valor, pago, atrasado, recorrente, " +
+            "data_criacao, data_atualizacao, versao) " +
+            "SELECT id, descricao, forma_de_pagamento, valor, pago, atrasado, recorrente, " +
+            "data_criacao, data_atualizacao, versao FROM produto_ent_arquivo WHERE id = :id", nativeQuery = true)
+    int restaurarDoArquivo(@Param("id") Long id);
+
+}
@@ -0,0 +1,77 @@
+package com.isdisponivel.ready.repository;
+
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monta o WHERE da pesquisa combinada. Os critérios comparam as colunas diretamente, sem funções,
+ * para que os índices de produto_ent possam ser usados. Serve tanto para Gastos quanto para
+ * GastosArquivados, que têm os mesmos nomes de atributos.
+ */
+public final class GastosSpecifications {
+
+    // '\' exigiria escape no literal SQL do MySQL; '!' não tem significado especial em nenhum dos bancos
+    private static final char ESCAPE_LIKE = '!';
+
+    private GastosSpecifications() {
+    }
+
+    public static <T> Specification<T> filtrar(FiltroGastosDTO filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+
+            if (filtro.getPago() != null) {
+                predicados.add(cb.equal(root.get("pago"), filtro.getPago()));
+            }
+
+            if (filtro.getAtrasado() != null) {
+                predicados.add(cb.equal(root.get("atrasado"), filtro.getAtrasado()));
+            }
+
+            if (filtro.getRecorrente() != null) {
+                predicados.add(cb.equal(root.get("recorrente"), filtro.getRecorrente()));
+            }
+
+            if (filtro.getFormaDePagamento() != null && !filtro.getFormaDePagamento().isBlank()) {
+                predicados.add(cb.equal(root.get("formaDePagamento"), filtro.getFormaDePagamento()));
+            }
+
+            if (filtro.getValorMinimo() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.<BigDecimal>get("valor"), filtro.getValorMinimo()));
+            }
+
+            if (filtro.getValorMaximo() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.<BigDecimal>get("valor"), filtro.getValorMaximo()));
+            }
+
+            if (filtro.getDataInicio() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("dataCriacao"), filtro.getDataInicio()));
+            }
+
+            if (filtro.getDataFim() != null) {
+                predicados.add(cb.lessThanOrEqualTo(root.<LocalDateTime>get("dataCriacao"), filtro.getDataFim()));
+            }
+
+            // LIKE com curinga inicial não usa índice; fica por último para filtrar o que os demais critérios já reduziram
+            if (filtro.getTermo() != null && !filtro.getTermo().isBlank()) {
+                predicados.add(cb.like(root.get("descricao"), "%" + escaparLike(filtro.getTermo()) + "%", ESCAPE_LIKE));
+            }
+
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    // % e _ digitados pelo usuário são procurados literalmente, não como curingas
+    static String escaparLike(String termo) {
+        return termo.replace(String.valueOf(ESCAPE_LIKE), "" + ESCAPE_LIKE + ESCAPE_LIKE)
+                .replace("%", ESCAPE_LIKE + "%")
+                .replace("_", ESCAPE_LIKE + "_");
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.isdisponivel.ready.repository;
+
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.model.GastosArquivados;
+import com.isdisponivel.ready.service.ArquivamentoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento em MySQL via JPA. Consulta produto_ent e, quando a busca pode alcançar gastos
+ * arquivados, também produto_ent_arquivo.
+ */
+@Component
+@ConditionalOnProperty(name = "gastos.armazenamento.modo", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class JpaGastosArmazenamento implements GastosArmazenamento {
+
+    private final GastosRepository gastosRepository;
+    private final GastosArquivadosRepository gastosArquivadosRepository;
+    private final GastosPesquisaRepository gastosPesquisaRepository;
+    private final ArquivamentoService arquivamentoService;
+
+    // ==================== ESCRITA ====================
+
+    @Override
+    @Transactional
+    public Gastos salvar(Gastos gastos) {
+        return gastosRepository.save(gastos);
+    }
+
+    @Override
+    @Transactional
+    public void deletar(Gastos gastos) {
+        gastosRepository.delete(gastos);
+    }
+
+    // ==================== LEITURA ====================
+
+    @Override
+    public Optional<Gastos> buscarPorId(Long id) {
+        return gastosRepository.findById(id)
+                .or(() -> gastosArquivadosRepository.findById(id).map(GastosArquivados::paraGastos));
+    }
+
+    /**
+     * Se o gasto estiver arquivado, ele volta para a tabela ativa antes.
+     */
+    @Override
+    @Transactional
+    public Optional<Gastos> buscarParaAlteracao(Long id) {
+        return gastosRepository.findById(id)
+                .or(() -> arquivamentoService.restaurar(id));
+    }
+
+    @Override
+    public Map<Long, Gastos> buscarPorIds(Collection<Long> ids) {
+        Map<Long, Gastos> encontrados = new HashMap<>();
+        gastosRepository.findAllById(ids).forEach(gastos -> encontrados.put(gastos.getId(), gastos));
+
+        if (encontrados.size() < ids.size()) {
+            List<Long> faltantes = ids.stream()
+                    .filter(id -> !encontrados.containsKey(id))
+                    .toList();
+            gastosArquivadosRepository.findAllById(faltantes)
+                    .forEach(arquivado -> encontrados.put(arquivado.getId(), arquivado.paraGastos()));
+        }
+
+        return encontrados;
+    }
+
+    @Override
+    public List<Gastos> listarTodos() {
+        return unirComArquivados(gastosRepository.findAll(),
+                gastosArquivadosRepository.findAllByOrderByDataCriacaoDescIdDesc());
+    }
+
+    @Override
+    public List<Gastos> buscarPorFormaDePagamento(String formaDePagamento) {
+        return unirComArquivados(gastosRepository.findByFormaDePagamento(formaDePagamento),
+                gastosArquivadosRepository.findByFormaDePagamento(formaDePagamento));
+    }
+
+    @Override
+    public List<Gastos> buscarAtrasados() {
+        return gastosRepository.findByAtrasadoTrueOrderByDataCriacaoDescIdDesc();
+    }
+
+    @Override
+    public List<Gastos> buscarNaoPagos() {
+        return gastosRepository.findByPagoFalseOrderByDataCriacaoDescIdDesc();
+    }
+
+    @Override
+    public List<Gastos> buscarRecorrentes() {
+        return gastosRepository.findByRecorrenteTrueOrderByDataCriacaoDescIdDesc();
+    }
+
+    @Override
+    public List<Gastos> buscarPorDescricao(String termo) {
+        return unirComArquivados(gastosRepository.buscarPorDescricao(termo),
+                gastosArquivadosRepository.buscarPorDescricao(termo));
+    }
+
+    @Override
+    public List<Gastos> buscarPorStatusPagamento(Boolean pago) {
+        List<Gastos> gastos = gastosRepository.buscarPorStatusPagamento(pago);
+
+        // Só gastos quitados são arquivados
+        if (!Boolean.TRUE.equals(pago)) {
+            return gastos;
+        }
+        return unirComArquivados(gastos, gastosArquivadosRepository.findAllByOrderByDataCriacaoDescIdDesc());
+    }
+
+    @Override
+    public List<Gastos> buscarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        List<Gastos> gastos = gastosRepository.buscarPorPeriodo(dataInicio, dataFim);
+
+        if (!arquivamentoService.alcancaDadosFrios(dataInicio)) {
+            return gastos;
+        }
+        return unirComArquivados(gastos, gastosArquivadosRepository.buscarPorPeriodo(dataInicio, dataFim));
+    }
+
+    @Override
+    public List<Gastos> pesquisar(FiltroGastosDTO filtro, Comparator<Gastos> ordenacao) {
+        Sort sort = Sort.by(Sort.Direction.fromString(filtro.getDirecao()), filtro.getOrdenarPor(), "id");
+        int limite = filtro.getLimite();
+
+        List<Gastos> gastos = gastosPesquisaRepository.pesquisar(
+                Gastos.class, GastosSpecifications.filtrar(filtro), sort, limite);
+
+        if (!podeAlcancarArquivados(filtro)) {
+            return gastos;
+        }
+
+        List<GastosArquivados> arquivados = gastosPesquisaRepository.pesquisar(
+                GastosArquivados.class, GastosSpecifications.filtrar(filtro), sort, limite);
+        if (arquivados.isEmpty()) {
+            return gastos;
+        }
+
+        return Stream.concat(gastos.stream(), arquivados.stream().map(GastosArquivados::paraGastos))
+                .sorted(ordenacao)
+                .limit(limite)
+                .toList();
+    }
+
+    // ==================== ESTATÍSTICAS ====================
+
+    @Override
+    public BigDecimal somarValores() {
+        return gastosRepository.somarValores().add(gastosArquivadosRepository.somarValores());
+    }
+
+    // ==================== HELPER ====================
+
+    // Só gastos pagos, em dia e não recorrentes são arquivados
+    private boolean podeAlcancarArquivados(FiltroGastosDTO filtro) {
+        return !Boolean.FALSE.equals(filtro.getPago())
+                && !Boolean.TRUE.equals(filtro.getAtrasado())
+                && !Boolean.TRUE.equals(filtro.getRecorrente())
+                && arquivamentoService.alcancaDadosFrios(filtro.getDataInicio());
+    }
+
+    // Ordena mesmo sem arquivados, para que a ordem não dependa de já ter havido arquivamento
+    private List<Gastos> unirComArquivados(List<Gastos> ativos, List<GastosArquivados> arquivados) {
+        return Stream.concat(ativos.stream(), arquivados.stream().map(GastosArquivados::paraGastos))
+                .sorted(MAIS_RECENTES_PRIMEIRO)
+                .toList();
+    }
+
+}
@@ -0,0 +1,493 @@
+package com.isdisponivel.ready.repository.journal;
+
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.repository.GastosArmazenamento;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento embarcado, sem banco externo: um journal só de acréscimos, mapeado em memória, com
+ * registros de tamanho fixo ({@link RegistroJournal}) e um índice id → posição mantido em memória.
+ * <p>
+ * Cada alteração acrescenta um registro novo; remoções acrescentam um registro de remoção. Na
+ * inicialização o journal é relido do início e o primeiro registro vazio ou com CRC inválido marca o
+ * fim; o que vier depois é zerado, descartando uma gravação interrompida. Quando os registros obsoletos passam dos vivos, os vivos
+ * são copiados para um arquivo novo, que substitui o antigo com um rename atômico.
+ */
+@Component
+@ConditionalOnProperty(name = "gastos.armazenamento.modo", havingValue = "journal")
+@Slf4j
+public class JournalGastosArmazenamento implements GastosArmazenamento {
+
+    private static final String ARQUIVO = "gastos.journal";
+    private static final String ARQUIVO_COMPACTACAO = "gastos.journal.compactando";
+
+    // Um MappedByteBuffer endereça no máximo Integer.MAX_VALUE bytes
+    private static final long CAPACIDADE_MAXIMA = (Integer.MAX_VALUE / RegistroJournal.TAMANHO) * (long) RegistroJournal.TAMANHO;
+
+    private final Path arquivo;
+    private final boolean sincronizar;
+    private final int capacidadeInicialRegistros;
+    private final int minimoRegistrosObsoletos;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> indice = new HashMap<>();
+
+    private FileChannel canal;
+    private MappedByteBuffer mapa;
+    private int proximaPosicao;
+    private long proximoId = 1;
+    private int registrosObsoletos;
+
+    public JournalGastosArmazenamento(
+            @Value("${gastos.journal.diretorio:./data}") Path diretorio,
+            @Value("${gastos.journal.sincronizar:true}") boolean sincronizar,
+            @Value("${gastos.journal.capacidade-inicial-registros:4096}") int capacidadeInicialRegistros,
+            @Value("${gastos.journal.compactar-apos-registros-obsoletos:10000}") int minimoRegistrosObsoletos) {
+        this.arquivo = diretorio.resolve(ARQUIVO);
+        this.sincronizar = sincronizar;
+        this.capacidadeInicialRegistros = capacidadeInicialRegistros;
+        this.minimoRegistrosObsoletos = minimoRegistrosObsoletos;
+
+        try {
+            Files.createDirectories(diretorio);
+            // Compactação interrompida: o journal original continua íntegro
+            Files.deleteIfExists(diretorio.resolve(ARQUIVO_COMPACTACAO));
+
+            canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long tamanho = Math.max(canal.size(), (long) capacidadeInicialRegistros * RegistroJournal.TAMANHO);
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(tamanho, CAPACIDADE_MAXIMA));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível abrir o journal " + arquivo, ex);
+        }
+
+        recuperar();
+        log.info("Journal {} carregado: {} gastos, {} registros obsoletos", arquivo, indice.size(), registrosObsoletos);
+    }
+
+    // ==================== ESCRITA ====================
+
+    @Override
+    public Gastos salvar(Gastos gastos) {
+        trava.writeLock().lock();
+        try {
+            LocalDateTime agora = LocalDateTime.now();
+            boolean novo = gastos.getId() == null;
+            long id;
+            long versao;
+            LocalDateTime dataCriacao;
+
+            if (novo) {
+                id = proximoId;
+                versao = 0L;
+                dataCriacao = agora;
+            } else {
+                Gastos atual = lerAtual(gastos.getId(), gastos.getVersao());
+
+                // Como o Hibernate, não grava nem incrementa a versão se nada mudou
+                if (mesmoConteudo(atual, gastos)) {
+                    return gastos;
+                }
+
+                id = atual.getId();
+                versao = atual.getVersao() + 1;
+                dataCriacao = atual.getDataCriacao();
+            }
+
+            // Monta e grava antes de tocar no gasto e nos contadores: uma falha aqui não deixa efeito
+            int posicao = anexar(RegistroJournal.gravacao(gastos, id, versao, dataCriacao, agora));
+            if (novo) {
+                proximoId++;
+            }
+
+            gastos.setId(id);
+            gastos.setVersao(versao);
+            gastos.setDataCriacao(dataCriacao);
+            gastos.setDataAtualizacao(agora);
+
+            if (indice.put(id, posicao) != null) {
+                registrosObsoletos++;
+            }
+
+            compactarSeNecessario();
+            return gastos;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deletar(Gastos gastos) {
+        trava.writeLock().lock();
+        try {
+            if (!indice.containsKey(gastos.getId())) {
+                return;
+            }
+
+            Gastos atual = lerAtual(gastos.getId(), gastos.getVersao());
+            anexar(RegistroJournal.remocao(atual.getId(), atual.getVersao()));
+            indice.remove(atual.getId());
+            // O registro removido e o próprio registro de remoção
+            registrosObsoletos += 2;
+
+            compactarSeNecessario();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // ==================== LEITURA ====================
+
+    @Override
+    public Optional<Gastos> buscarPorId(Long id) {
+        trava.readLock().lock();
+        try {
+            Integer posicao = indice.get(id);
+            return posicao == null ? Optional.empty() : Optional.of(ler(posicao));
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Gastos> buscarParaAlteracao(Long id) {
+        return buscarPorId(id);
+    }
+
+    @Override
+    public Map<Long, Gastos> buscarPorIds(Collection<Long> ids) {
+        trava.readLock().lock();
+        try {
+            Map<Long, Gastos> encontrados = new HashMap<>();
+            for (Long id : ids) {
+                Integer posicao = indice.get(id);
+                if (posicao != null) {
+                    encontrados.put(id, ler(posicao));
+                }
+            }
+            return encontrados;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Gastos> listarTodos() {
+        return filtrar(gastos -> true, MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Gastos> buscarPorFormaDePagamento(String formaDePagamento) {
+        return filtrar(gastos -> gastos.getFormaDePagamento().equalsIgnoreCase(formaDePagamento),
+                MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Gastos> buscarAtrasados() {
+        return filtrar(Gastos::getAtrasado, MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Gastos> buscarNaoPagos() {
+        return filtrar(gastos -> !gastos.getPago(), MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Gastos> buscarRecorrentes() {
+        return filtrar(Gastos::getRecorrente, MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Gastos> buscarPorDescricao(String termo) {
+        return filtrar(gastos -> contemIgnorandoCaixa(gastos.getDescricao(), termo), MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Gastos> buscarPorStatusPagamento(Boolean pago) {
+        return filtrar(gastos -> gastos.getPago().equals(pago), MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Gastos> buscarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        return filtrar(gastos -> !gastos.getDataCriacao().isBefore(dataInicio) && !gastos.getDataCriacao().isAfter(dataFim),
+                MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Gastos> pesquisar(FiltroGastosDTO filtro, Comparator<Gastos> ordenacao) {
+        return todos()
+                .filter(gastos -> atendeFiltro(gastos, filtro))
+                .sorted(ordenacao)
+                .limit(filtro.getLimite())
+                .toList();
+    }
+
+    // ==================== ESTATÍSTICAS ====================
+
+    @Override
+    public BigDecimal somarValores() {
+        return todos()
+                .map(Gastos::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    // ==================== COMPACTAÇÃO ====================
+
+    public void compactar() {
+        trava.writeLock().lock();
+        try {
+            compactarComTrava();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void compactarSeNecessario() {
+        if (registrosObsoletos >= minimoRegistrosObsoletos && registrosObsoletos > indice.size()) {
+            compactarComTrava();
+        }
+    }
+
+    private void compactarComTrava() {
+        Path temporario = arquivo.resolveSibling(ARQUIVO_COMPACTACAO);
+        long capacidade = Math.min(CAPACIDADE_MAXIMA,
+                (long) Math.max(capacidadeInicialRegistros, (indice.size() + 1) * 2) * RegistroJournal.TAMANHO);
+
+        log.info("Compactando journal: {} gastos, {} registros obsoletos", indice.size(), registrosObsoletos);
+
+        Map<Long, Integer> novoIndice = new HashMap<>();
+        int posicao = 0;
+        try {
+            try (FileChannel novoCanal = FileChannel.open(temporario,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer novoMapa = novoCanal.map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+
+                novoMapa.put(posicao, RegistroJournal.cabecalho(proximoId));
+                posicao += RegistroJournal.TAMANHO;
+
+                byte[] registro = new byte[RegistroJournal.TAMANHO];
+                for (Map.Entry<Long, Integer> entrada : indice.entrySet()) {
+                    mapa.get(entrada.getValue(), registro);
+                    novoMapa.put(posicao, registro);
+                    novoIndice.put(entrada.getKey(), posicao);
+                    posicao += RegistroJournal.TAMANHO;
+                }
+                novoMapa.force();
+            }
+
+            Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE);
+
+            canal.close();
+            canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao compactar o journal " + arquivo, ex);
+        }
+
+        indice.clear();
+        indice.putAll(novoIndice);
+        proximaPosicao = posicao;
+        registrosObsoletos = 0;
+    }
+
+    // ==================== RECUPERAÇÃO ====================
+
+    private void recuperar() {
+        int posicao = 0;
+
+        while (posicao + RegistroJournal.TAMANHO <= mapa.capacity()) {
+            ByteBuffer registro = mapa.slice(posicao, RegistroJournal.TAMANHO);
+            byte tipo = RegistroJournal.tipo(registro);
+
+            if (tipo == RegistroJournal.VAZIO) {
+                // Sem sincronizar, uma página posterior pode ter chegado ao disco antes desta
+                if (existeRegistroApos(posicao)) {
+                    log.warn("Registro vazio na posição {} seguido de registros gravados; descartando a partir dele", posicao);
+                    descartarAPartirDe(posicao);
+                }
+                break;
+            }
+
+            if (!RegistroJournal.integro(registro)) {
+                log.warn("Registro incompleto na posição {} do journal; descartando a partir dele", posicao);
+                descartarAPartirDe(posicao);
+                break;
+            }
+
+            long id = RegistroJournal.id(registro);
+            if (tipo == RegistroJournal.CABECALHO) {
+                proximoId = Math.max(proximoId, id);
+            } else {
+                Integer anterior = tipo == RegistroJournal.GRAVACAO ? indice.put(id, posicao) : indice.remove(id);
+                if (anterior != null) {
+                    registrosObsoletos++;
+                }
+                if (tipo == RegistroJournal.REMOCAO) {
+                    registrosObsoletos++;
+                }
+                proximoId = Math.max(proximoId, id + 1);
+            }
+
+            posicao += RegistroJournal.TAMANHO;
+        }
+
+        proximaPosicao = posicao;
+    }
+
+    private boolean existeRegistroApos(int posicao) {
+        for (int atual = posicao + RegistroJournal.TAMANHO; atual + RegistroJournal.TAMANHO <= mapa.capacity();
+             atual += RegistroJournal.TAMANHO) {
+            if (mapa.get(atual) != RegistroJournal.VAZIO) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Zera o restante para que registros antigos depois do ponto de corte não reapareçam numa próxima leitura
+    private void descartarAPartirDe(int posicao) {
+        byte[] vazio = new byte[RegistroJournal.TAMANHO];
+        for (int atual = posicao; atual + RegistroJournal.TAMANHO <= mapa.capacity(); atual += RegistroJournal.TAMANHO) {
+            mapa.put(atual, vazio);
+        }
+        mapa.force();
+    }
+
+    // ==================== HELPER ====================
+
+    private int anexar(byte[] registro) {
+        garantirCapacidade();
+
+        int posicao = proximaPosicao;
+        mapa.put(posicao, registro);
+        if (sincronizar) {
+            mapa.force(posicao, RegistroJournal.TAMANHO);
+        }
+
+        proximaPosicao += RegistroJournal.TAMANHO;
+        return posicao;
+    }
+
+    private void garantirCapacidade() {
+        if (proximaPosicao + RegistroJournal.TAMANHO <= mapa.capacity()) {
+            return;
+        }
+
+        long novaCapacidade = Math.min(CAPACIDADE_MAXIMA, mapa.capacity() * 2L);
+        if (novaCapacidade <= mapa.capacity()) {
+            throw new IllegalStateException("Journal atingiu a capacidade máxima de " + CAPACIDADE_MAXIMA + " bytes");
+        }
+
+        try {
+            mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, novaCapacidade);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao ampliar o journal " + arquivo, ex);
+        }
+    }
+
+    private Gastos ler(int posicao) {
+        return RegistroJournal.ler(mapa.slice(posicao, RegistroJournal.TAMANHO));
+    }
+
+    private Gastos lerAtual(Long id, Long versaoEsperada) {
+        Integer posicao = indice.get(id);
+        if (posicao == null) {
+            throw new ObjectOptimisticLockingFailureException(Gastos.class, id);
+        }
+
+        Gastos atual = ler(posicao);
+        if (!Objects.equals(atual.getVersao(), versaoEsperada)) {
+            log.warn("Conflito de versão no gasto {}: esperada {}, atual {}", id, versaoEsperada, atual.getVersao());
+            throw new ObjectOptimisticLockingFailureException(Gastos.class, id);
+        }
+        return atual;
+    }
+
+    private Stream<Gastos> todos() {
+        trava.readLock().lock();
+        try {
+            return indice.values().stream()
+                    .map(this::ler)
+                    .toList()
+                    .stream();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private List<Gastos> filtrar(Predicate<Gastos> criterio, Comparator<Gastos> ordenacao) {
+        return todos()
+                .filter(criterio)
+                .sorted(ordenacao)
+                .toList();
+    }
+
+    private static boolean mesmoConteudo(Gastos atual, Gastos novo) {
+        return Objects.equals(atual.getDescricao(), novo.getDescricao())
+                && Objects.equals(atual.getFormaDePagamento(), novo.getFormaDePagamento())
+                && novo.getValor() != null && atual.getValor().compareTo(novo.getValor()) == 0
+                && Objects.equals(atual.getPago(), novo.getPago())
+                && Objects.equals(atual.getAtrasado(), novo.getAtrasado())
+                && Objects.equals(atual.getRecorrente(), novo.getRecorrente());
+    }
+
+    // Como a collation padrão do MySQL, as comparações de texto ignoram maiúsculas e minúsculas
+    private static boolean contemIgnorandoCaixa(String texto, String termo) {
+        return texto.toLowerCase().contains(termo.toLowerCase());
+    }
+
+    private static boolean atendeFiltro(Gastos gastos, FiltroGastosDTO filtro) {
+        return (filtro.getPago() == null || filtro.getPago().equals(gastos.getPago()))
+                && (filtro.getAtrasado() == null || filtro.getAtrasado().equals(gastos.getAtrasado()))
+                && (filtro.getRecorrente() == null || filtro.getRecorrente().equals(gastos.getRecorrente()))
+                && (filtro.getFormaDePagamento() == null || filtro.getFormaDePagamento().isBlank()
+                        || gastos.getFormaDePagamento().equalsIgnoreCase(filtro.getFormaDePagamento()))
+                && (filtro.getValorMinimo() == null || gastos.getValor().compareTo(filtro.getValorMinimo()) >= 0)
+                && (filtro.getValorMaximo() == null || gastos.getValor().compareTo(filtro.getValorMaximo()) <= 0)
+                && (filtro.getDataInicio() == null || !gastos.getDataCriacao().isBefore(filtro.getDataInicio()))
+                && (filtro.getDataFim() == null || !gastos.getDataCriacao().isAfter(filtro.getDataFim()))
+                && (filtro.getTermo() == null || filtro.getTermo().isBlank()
+                        || contemIgnorandoCaixa(gastos.getDescricao(), filtro.getTermo()));
+    }
+
+    @PreDestroy
+    public void fechar() {
+        trava.writeLock().lock();
+        try {
+            mapa.force();
+            canal.close();
+        } catch (IOException ex) {
+            log.error("Falha ao fechar o journal {}", arquivo, ex);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.isdisponivel.ready.repository.journal;
+
+import com.isdisponivel.ready.model.Gastos;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * Layout fixo de um registro do journal (1280 bytes). O CRC32 no final cobre todos os bytes anteriores,
+ * o que permite reconhecer uma gravação interrompida pela metade.
+ * <pre>
+ *    0  tipo (1)               1  id (8)                   9  versao (8)
+ *   17  valor em centavos (8) 25  flags pago/atrasado/recorrente (1)
+ *   26  dataCriacao (8 + 4)   38  dataAtualizacao (8 + 4)
+ *   50  descricao (2 + 1020) 1072 formaDePagamento (2 + 200)  1276 crc (4)
+ * </pre>
+ */
+final class RegistroJournal {
+
+    static final int TAMANHO = 1280;
+
+    static final byte VAZIO = 0;
+    static final byte GRAVACAO = 1;
+    static final byte REMOCAO = 2;
+    // Gravado só na compactação, guarda o próximo ID para que IDs removidos não sejam reutilizados
+    static final byte CABECALHO = 3;
+
+    private static final int POSICAO_ID = 1;
+    private static final int POSICAO_VERSAO = 9;
+    private static final int POSICAO_VALOR = 17;
+    private static final int POSICAO_FLAGS = 25;
+    private static final int POSICAO_DATA_CRIACAO = 26;
+    private static final int POSICAO_DATA_ATUALIZACAO = 38;
+    private static final int POSICAO_DESCRICAO = 50;
+    private static final int POSICAO_FORMA = 1072;
+    private static final int POSICAO_CRC = TAMANHO - Integer.BYTES;
+
+    // 255 e 50 caracteres, no pior caso de 4 bytes por caractere em UTF-8
+    private static final int MAX_BYTES_DESCRICAO = 1020;
+    private static final int MAX_BYTES_FORMA = 200;
+
+    private static final byte PAGO = 1;
+    private static final byte ATRASADO = 2;
+    private static final byte RECORRENTE = 4;
+
+    private RegistroJournal() {
+    }
+
+    // ==================== ESCRITA ====================
+
+    /**
+     * ID, versão e datas vêm à parte para que o gasto só seja alterado depois que o registro foi montado
+     * e gravado; texto grande demais ou valor fora do intervalo falham aqui, sem efeito nenhum.
+     */
+    static byte[] gravacao(Gastos gastos, long id, long versao, LocalDateTime dataCriacao, LocalDateTime dataAtualizacao) {
+        ByteBuffer registro = ByteBuffer.allocate(TAMANHO);
+        registro.put(0, GRAVACAO);
+        registro.putLong(POSICAO_ID, id);
+        registro.putLong(POSICAO_VERSAO, versao);
+        registro.putLong(POSICAO_VALOR, gastos.getValor().setScale(2, RoundingMode.HALF_UP)
+                .unscaledValue().longValueExact());
+        registro.put(POSICAO_FLAGS, flags(gastos));
+        putData(registro, POSICAO_DATA_CRIACAO, dataCriacao);
+        putData(registro, POSICAO_DATA_ATUALIZACAO, dataAtualizacao);
+        putTexto(registro, POSICAO_DESCRICAO, gastos.getDescricao(), MAX_BYTES_DESCRICAO);
+        putTexto(registro, POSICAO_FORMA, gastos.getFormaDePagamento(), MAX_BYTES_FORMA);
+        return selar(registro);
+    }
+
+    static byte[] remocao(long id, long versao) {
+        ByteBuffer registro = ByteBuffer.allocate(TAMANHO);
+        registro.put(0, REMOCAO);
+        registro.putLong(POSICAO_ID, id);
+        registro.putLong(POSICAO_VERSAO, versao);
+        return selar(registro);
+    }
+
+    static byte[] cabecalho(long proximoId) {
+        ByteBuffer registro = ByteBuffer.allocate(TAMANHO);
+        registro.put(0, CABECALHO);
+        registro.putLong(POSICAO_ID, proximoId);
+        return selar(registro);
+    }
+
+    // ==================== LEITURA ====================
+
+    static byte tipo(ByteBuffer registro) {
+        return registro.get(0);
+    }
+
+    static long id(ByteBuffer registro) {
+        return registro.getLong(POSICAO_ID);
+    }
+
+    static boolean integro(ByteBuffer registro) {
+        return registro.getInt(POSICAO_CRC) == crc(registro);
+    }
+
+    static Gastos ler(ByteBuffer registro) {
+        byte flags = registro.get(POSICAO_FLAGS);
+        return Gastos.builder()
+                .id(registro.getLong(POSICAO_ID))
+                .versao(registro.getLong(POSICAO_VERSAO))
+                .valor(BigDecimal.valueOf(registro.getLong(POSICAO_VALOR), 2))
+                .pago((flags & PAGO) != 0)
+                .atrasado((flags & ATRASADO) != 0)
+                .recorrente((flags & RECORRENTE) != 0)
+                .dataCriacao(getData(registro, POSICAO_DATA_CRIACAO))
+                .dataAtualizacao(getData(registro, POSICAO_DATA_ATUALIZACAO))
+                .descricao(getTexto(registro, POSICAO_DESCRICAO))
+                .formaDePagamento(getTexto(registro, POSICAO_FORMA))
+                .build();
+    }
+
+    // ==================== HELPER ====================
+
+    private static byte flags(Gastos gastos) {
+        byte flags = 0;
+        if (Boolean.TRUE.equals(gastos.getPago())) {
+            flags |= PAGO;
+        }
+        if (Boolean.TRUE.equals(gastos.getAtrasado())) {
+            flags |= ATRASADO;
+        }
+        if (Boolean.TRUE.equals(gastos.getRecorrente())) {
+            flags |= RECORRENTE;
+        }
+        return flags;
+    }
+
+    private static void putData(ByteBuffer registro, int posicao, LocalDateTime data) {
+        registro.putLong(posicao, data.toEpochSecond(ZoneOffset.UTC));
+        registro.putInt(posicao + Long.BYTES, data.getNano());
+    }
+
+    private static LocalDateTime getData(ByteBuffer registro, int posicao) {
+        return LocalDateTime.ofEpochSecond(registro.getLong(posicao), registro.getInt(posicao + Long.BYTES), ZoneOffset.UTC);
+    }
+
+    private static void putTexto(ByteBuffer registro, int posicao, String texto, int maxBytes) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException("Texto excede o tamanho máximo do registro: " + texto.length() + " caracteres");
+        }
+        registro.putShort(posicao, (short) bytes.length);
+        registro.put(posicao + Short.BYTES, bytes);
+    }
+
+    private static String getTexto(ByteBuffer registro, int posicao) {
+        byte[] bytes = new byte[registro.getShort(posicao)];
+        registro.get(posicao + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] selar(ByteBuffer registro) {
+        registro.putInt(POSICAO_CRC, crc(registro));
+        return registro.array();
+    }
+
+    private static int crc(ByteBuffer registro) {
+        CRC32 crc = new CRC32();
+        crc.update(registro.slice(0, POSICAO_CRC));
+        return (int) crc.getValue();
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.isdisponivel.ready.service;
+
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.repository.GastosArquivadosRepository;
+import com.isdisponivel.ready.repository.GastosRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Move gastos quitados, não recorrentes e sem alteração há mais de {@code gastos.arquivamento.idade-dias}
+ * de produto_ent para produto_ent_arquivo, em lotes pequenos, cada um na sua própria transação.
+ * Se a execução for interrompida, os lotes já confirmados permanecem arquivados e a próxima execução
+ * continua de onde parou.
+ */
+@Service
+@ConditionalOnProperty(name = "gastos.armazenamento.modo", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ArquivamentoService {
+
+    private final GastosRepository gastosRepository;
+    private final GastosArquivadosRepository gastosArquivadosRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${gastos.arquivamento.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${gastos.arquivamento.idade-dias:180}")
+    private long idadeDias;
+
+    @Value("${gastos.arquivamento.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${gastos.arquivamento.max-lotes-por-execucao:100}")
+    private int maxLotesPorExecucao;
+
+    @Value("${gastos.arquivamento.validade-maior-data-ms:60000}")
+    private long validadeMaiorDataMs;
+
+    // Maior dataCriacao em produto_ent_arquivo. Pode ficar acima do valor real, nunca abaixo
+    private final AtomicReference<LocalDateTime> maiorDataCriacaoArquivada = new AtomicReference<>();
+    private volatile long maiorDataLidaEm;
+    private volatile boolean maiorDataCarregada;
+
+    // ==================== ARQUIVAR ====================
+
+    @Scheduled(fixedDelayString = "${gastos.arquivamento.intervalo-ms:3600000}",
+            initialDelayString = "${gastos.arquivamento.atraso-inicial-ms:60000}")
+    public void arquivarGastosQuitados() {
+        if (!habilitado) {
+            return;
+        }
+
+        LocalDateTime limite = calcularLimiteArquivamento();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        log.info("Iniciando arquivamento de gastos quitados anteriores a {}", limite);
+
+        int totalArquivado = 0;
+        try {
+            for (int lote = 0; lote < maxLotesPorExecucao; lote++) {
+                Integer arquivados = transacao.execute(status -> arquivarLote(limite));
+                totalArquivado += arquivados;
+
+                if (arquivados < tamanhoLote) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Falha ao arquivar lote de gastos. Arquivados nesta execução: {}", totalArquivado, ex);
+            return;
+        } finally {
+            // Depois dos commits a leitura do banco já reflete tudo o que foi movido
+            if (totalArquivado > 0) {
+                recarregarMaiorDataCriacao();
+            }
+        }
+
+        log.info("Arquivamento concluído. Gastos arquivados nesta execução: {}", totalArquivado);
+    }
+
+    private int arquivarLote(LocalDateTime limite) {
+        List<Long> ids = gastosRepository.buscarIdsArquivaveis(limite, PageRequest.of(0, tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Antes de mover: todo gasto arquivado tem dataCriacao <= dataAtualizacao < limite
+        elevarMaiorDataCriacao(limite);
+
+        int copiados = gastosArquivadosRepository.arquivar(ids, limite, LocalDateTime.now());
+        int removidos = gastosRepository.removerArquivados(ids, limite);
+
+        if (copiados != removidos) {
+            // Algum gasto mudou entre a cópia e a remoção; desfaz o lote e tenta de novo na próxima execução
+            throw new IllegalStateException("Lote de arquivamento inconsistente: " + copiados
+                    + " copiados e " + removidos + " removidos");
+        }
+
+        log.debug("Lote arquivado: {} gastos (IDs {} a {})", removidos, ids.get(0), ids.get(ids.size() - 1));
+        return removidos;
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Compara com a maior dataCriacao presente no arquivo, e não com idade-dias, para que mudar a
+     * configuração não esconda gastos já arquivados. O valor fica em cache e é relido do banco a cada
+     * {@code gastos.arquivamento.validade-maior-data-ms}, o que cobre arquivamentos feitos por outras instâncias.
+     */
+    public boolean alcancaDadosFrios(LocalDateTime dataInicio) {
+        LocalDateTime maiorDataCriacao = obterMaiorDataCriacaoArquivada();
+        if (maiorDataCriacao == null) {
+            return false;
+        }
+        return dataInicio == null || !dataInicio.isAfter(maiorDataCriacao);
+    }
+
+    private LocalDateTime obterMaiorDataCriacaoArquivada() {
+        long validadeNanos = TimeUnit.MILLISECONDS.toNanos(validadeMaiorDataMs);
+        if (!maiorDataCarregada || System.nanoTime() - maiorDataLidaEm > validadeNanos) {
+            // Uma leitura concorrente ao arquivamento pode estar desatualizada; por isso só eleva o valor
+            elevarMaiorDataCriacao(gastosArquivadosRepository.buscarMaiorDataCriacao().orElse(null));
+            maiorDataLidaEm = System.nanoTime();
+            maiorDataCarregada = true;
+        }
+        return maiorDataCriacaoArquivada.get();
+    }
+
+    private void recarregarMaiorDataCriacao() {
+        maiorDataCriacaoArquivada.set(gastosArquivadosRepository.buscarMaiorDataCriacao().orElse(null));
+        maiorDataLidaEm = System.nanoTime();
+        maiorDataCarregada = true;
+    }
+
+    private void elevarMaiorDataCriacao(LocalDateTime data) {
+        if (data == null) {
+            return;
+        }
+        maiorDataCriacaoArquivada.accumulateAndGet(data,
+                (atual, nova) -> atual == null || nova.isAfter(atual) ? nova : atual);
+    }
+
+    // ==================== RESTAURAR ====================
+
+    /**
+     * Devolve um gasto arquivado para produto_ent, mantendo ID e versão, para que possa ser alterado.
+     * Se outra requisição restaurar o mesmo gasto ao mesmo tempo, a segunda falha com conflito de versão.
+     */
+    @Transactional
+    public Optional<Gastos> restaurar(Long id) {
+        if (!gastosArquivadosRepository.existsById(id)) {
+            return Optional.empty();
+        }
+
+        // SELECT ... FOR UPDATE: quem chegar depois espera e encontra o arquivo já sem o gasto
+        if (gastosArquivadosRepository.buscarParaRestaurar(id).isEmpty()) {
+            log.warn("Gasto {} restaurado por outra requisição", id);
+            throw new ObjectOptimisticLockingFailureException(Gastos.class, id);
+        }
+
+        log.info("Restaurando gasto arquivado. ID: {}", id);
+        try {
+            gastosRepository.restaurarDoArquivo(id);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ObjectOptimisticLockingFailureException(Gastos.class, id, ex);
+        }
+        gastosArquivadosRepository.deleteById(id);
+
+        return gastosRepository.findById(id);
+    }
+
+    private LocalDateTime calcularLimiteArquivamento() {
+        return LocalDateTime.now().minusDays(idadeDias);
+    }
+
+}
@@ -0,0 +1,223 @@
+package com.isdisponivel.ready.service;
+
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.repository.GastosArmazenamento;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agrupa buscas por ID que chegam ao mesmo tempo numa única consulta {@code WHERE id IN (...)}.
+ * Um lote é despachado quando atinge {@code gastos.carregador.max-lote} IDs distintos ou quando o
+ * primeiro pedido do lote já esperou {@code gastos.carregador.max-espera-ms}, o que vier primeiro.
+ * Quem chama espera no máximo {@code gastos.carregador.timeout-ms}; qualquer falha ao agendar, despachar
+ * ou consultar o lote é repassada a todos os pedidos dele.
+ */
+@Component
+@Slf4j
+public class GastosCarregador {
+
+    private final GastosArmazenamento gastosArmazenamento;
+
+    private final boolean habilitado;
+    private final int maxLote;
+    private final long maxEsperaMs;
+    private final long timeoutMs;
+
+    private final ScheduledExecutorService agendador;
+    private final ExecutorService executor;
+
+    private final DistributionSummary tamanhoLote;
+    private final Timer tempoConsulta;
+
+    private final Object trava = new Object();
+    private Map<Long, List<CompletableFuture<Optional<Gastos>>>> pendentes = new HashMap<>();
+    private ScheduledFuture<?> despachoAgendado;
+
+    public GastosCarregador(
+            GastosArmazenamento gastosArmazenamento,
+            MeterRegistry meterRegistry,
+            @Value("${gastos.carregador.habilitado:true}") boolean habilitado,
+            @Value("${gastos.carregador.max-lote:50}") int maxLote,
+            @Value("${gastos.carregador.max-espera-ms:2}") long maxEsperaMs,
+            @Value("${gastos.carregador.timeout-ms:5000}") long timeoutMs,
+            @Value("${gastos.carregador.paralelismo:4}") int paralelismo) {
+        this.gastosArmazenamento = gastosArmazenamento;
+
+        this.habilitado = habilitado;
+        this.maxLote = maxLote;
+        this.maxEsperaMs = maxEsperaMs;
+        this.timeoutMs = timeoutMs;
+
+        this.agendador = Executors.newSingleThreadScheduledExecutor(criarThreads("gastos-carregador-agendador"));
+        this.executor = Executors.newFixedThreadPool(paralelismo, criarThreads("gastos-carregador"));
+
+        this.tamanhoLote = DistributionSummary.builder("gastos.carregador.lote")
+                .description("IDs distintos por consulta agrupada")
+                .register(meterRegistry);
+        this.tempoConsulta = Timer.builder("gastos.carregador.consulta")
+                .description("Duração de cada consulta agrupada; a contagem equivale às conexões usadas")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // ==================== CARREGAR ====================
+
+    public Optional<Gastos> carregar(Long id) {
+        if (!habilitado) {
+            return Optional.ofNullable(buscarLote(List.of(id)).get(id));
+        }
+
+        try {
+            return agendar(id).orTimeout(timeoutMs, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException causa) {
+                throw new QueryTimeoutException(
+                        "Tempo esgotado ao buscar o gasto " + id + " após " + timeoutMs + " ms", causa);
+            }
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Busca todos os IDs informados numa única chamada ao armazenamento. IDs inexistentes ficam fora do mapa.
+     */
+    public Map<Long, Gastos> buscarLote(Collection<Long> ids) {
+        tamanhoLote.record(ids.size());
+        return tempoConsulta.record(() -> gastosArmazenamento.buscarPorIds(ids));
+    }
+
+    private CompletableFuture<Optional<Gastos>> agendar(Long id) {
+        CompletableFuture<Optional<Gastos>> futuro = new CompletableFuture<>();
+        Map<Long, List<CompletableFuture<Optional<Gastos>>>> loteCheio = null;
+        Map<Long, List<CompletableFuture<Optional<Gastos>>>> loteSemDespacho = null;
+        RuntimeException falhaAoAgendar = null;
+
+        synchronized (trava) {
+            pendentes.computeIfAbsent(id, chave -> new ArrayList<>()).add(futuro);
+
+            if (pendentes.size() >= maxLote) {
+                loteCheio = retirarPendentes();
+            } else if (despachoAgendado == null) {
+                try {
+                    despachoAgendado = agendador.schedule(this::despacharPorTempo, maxEsperaMs, TimeUnit.MILLISECONDS);
+                } catch (RuntimeException ex) {
+                    // Sem despacho agendado ninguém retiraria estes pedidos
+                    loteSemDespacho = retirarPendentes();
+                    falhaAoAgendar = ex;
+                }
+            }
+        }
+
+        if (loteCheio != null) {
+            despachar(loteCheio);
+        }
+        if (loteSemDespacho != null) {
+            falhar(loteSemDespacho, falhaAoAgendar);
+        }
+        return futuro;
+    }
+
+    private void despacharPorTempo() {
+        Map<Long, List<CompletableFuture<Optional<Gastos>>>> lote;
+        synchronized (trava) {
+            lote = retirarPendentes();
+        }
+
+        if (!lote.isEmpty()) {
+            despachar(lote);
+        }
+    }
+
+    private Map<Long, List<CompletableFuture<Optional<Gastos>>>> retirarPendentes() {
+        Map<Long, List<CompletableFuture<Optional<Gastos>>>> lote = pendentes;
+        pendentes = new HashMap<>();
+
+        if (despachoAgendado != null) {
+            despachoAgendado.cancel(false);
+            despachoAgendado = null;
+        }
+        return lote;
+    }
+
+    private void despachar(Map<Long, List<CompletableFuture<Optional<Gastos>>>> lote) {
+        try {
+            executor.execute(() -> consultar(lote));
+        } catch (RejectedExecutionException ex) {
+            falhar(lote, ex);
+        }
+    }
+
+    private void consultar(Map<Long, List<CompletableFuture<Optional<Gastos>>>> lote) {
+        try {
+            Map<Long, Gastos> encontrados = buscarLote(lote.keySet());
+            lote.forEach((id, futuros) -> {
+                Optional<Gastos> resultado = Optional.ofNullable(encontrados.get(id));
+                futuros.forEach(futuro -> futuro.complete(resultado));
+            });
+        } catch (Throwable ex) {
+            log.error("Falha ao buscar lote de {} gastos", lote.size(), ex);
+            falhar(lote, ex);
+            if (ex instanceof Error erro) {
+                throw erro;
+            }
+        }
+    }
+
+    private static void falhar(Map<Long, List<CompletableFuture<Optional<Gastos>>>> lote, Throwable causa) {
+        lote.values().forEach(futuros -> futuros.forEach(futuro -> futuro.completeExceptionally(causa)));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        Map<Long, List<CompletableFuture<Optional<Gastos>>>> lote;
+        synchronized (trava) {
+            agendador.shutdown();
+            lote = retirarPendentes();
+        }
+        executor.shutdown();
+
+        if (!lote.isEmpty()) {
+            falhar(lote, new RejectedExecutionException("Carregador de gastos encerrado"));
+        }
+    }
+
+    private static ThreadFactory criarThreads(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -1,16 +1,25 @@
 package com.isdisponivel.ready.service;
 
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
 import com.isdisponivel.ready.exception.GastosNotFoundException;
 import com.isdisponivel.ready.model.Gastos;
-import com.isdisponivel.ready.repository.GastosRepository;
+import com.isdisponivel.ready.repository.GastosArmazenamento;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -18,7 +27,19 @@ import java.util.List;
 @Transactional
 public class GastosService {
 
-    private final GastosRepository gastosRepository;
+    // Campos aceitos em ordenarPor; o comparador é usado pelo armazenamento para ordenar em memória
+    private static final Map<String, Comparator<Gastos>> CAMPOS_ORDENAVEIS = Map.of(
+            "dataCriacao", Comparator.comparing(Gastos::getDataCriacao),
+            "dataAtualizacao", Comparator.comparing(Gastos::getDataAtualizacao),
+            "valor", Comparator.comparing(Gastos::getValor),
+            "descricao", Comparator.comparing(Gastos::getDescricao)
+    );
+
+    private final GastosArmazenamento gastosArmazenamento;
+    private final GastosCarregador gastosCarregador;
+
+    @Value("${gastos.consulta.max-ids:100}")
+    private int maxIdsPorConsulta;
 
     // ==================== CRIAR ====================
 
@@ -27,7 +48,7 @@ public class GastosService {
         
         validarGastosObrigatorios(gastos);
         
-        Gastos gastosCriado = gastosRepository.save(gastos);
+        Gastos gastosCriado = gastosArmazenamento.salvar(gastos);
         log.info("Gasto criado com sucesso. ID: {}", gastosCriado.getId());
         
         return gastosCriado;
@@ -35,63 +56,108 @@ public class GastosService {
 
     // ==================== LEITURA ====================
 
-    @Transactional(readOnly = true)
+    // Sem transação própria: o GastosCarregador agrupa buscas simultâneas e abre uma transação por lote
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Gastos obterPorId(Long id) {
         log.debug("Buscando gasto com ID: {}", id);
         
-        return gastosRepository.findById(id)
+        return gastosCarregador.carregar(id)
                 .orElseThrow(() -> {
                     log.warn("Gasto não encontrado. ID: {}", id);
                     return new GastosNotFoundException(id);
                 });
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Gastos> obterPorIds(List<Long> ids) {
+        log.debug("Buscando gastos com IDs: {}", ids);
+
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID");
+        }
+
+        Set<Long> idsDistintos = new LinkedHashSet<>(ids);
+        if (idsDistintos.size() > maxIdsPorConsulta) {
+            throw new IllegalArgumentException("Máximo de " + maxIdsPorConsulta + " IDs por consulta");
+        }
+
+        Map<Long, Gastos> encontrados = gastosCarregador.buscarLote(idsDistintos);
+        return idsDistintos.stream()
+                .map(encontrados::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public List<Gastos> listarTodos() {
         log.debug("Listando todos os gastos");
-        return gastosRepository.findAll();
+        return gastosArmazenamento.listarTodos();
     }
 
     @Transactional(readOnly = true)
     public List<Gastos> buscarPorFormaDePagamento(String formaDePagamento) {
         log.debug("Buscando gastos por forma de pagamento: {}", formaDePagamento);
-        return gastosRepository.findByFormaDePagamento(formaDePagamento);
+        return gastosArmazenamento.buscarPorFormaDePagamento(formaDePagamento);
     }
 
     @Transactional(readOnly = true)
     public List<Gastos> buscarAtrasados() {
         log.debug("Buscando gastos atrasados");
-        return gastosRepository.findByAtrasadoTrue();
+        return gastosArmazenamento.buscarAtrasados();
     }
 
     @Transactional(readOnly = true)
     public List<Gastos> buscarNaoPagos() {
         log.debug("Buscando gastos não pagos");
-        return gastosRepository.findByPagoFalse();
+        return gastosArmazenamento.buscarNaoPagos();
     }
 
     @Transactional(readOnly = true)
     public List<Gastos> buscarRecorrentes() {
         log.debug("Buscando gastos recorrentes");
-        return gastosRepository.findByRecorrenteTrueOrderByDataCriacaoDesc();
+        return gastosArmazenamento.buscarRecorrentes();
     }
 
     @Transactional(readOnly = true)
     public List<Gastos> buscarPorDescricao(String termo) {
         log.debug("Buscando gastos por descrição: {}", termo);
-        return gastosRepository.buscarPorDescricao(termo);
+        return gastosArmazenamento.buscarPorDescricao(termo);
     }
 
     @Transactional(readOnly = true)
     public List<Gastos> buscarPorStatusPagamento(Boolean pago) {
         log.debug("Buscando gastos por status de pagamento: {}", pago);
-        return gastosRepository.buscarPorStatusPagamento(pago);
+        return gastosArmazenamento.buscarPorStatusPagamento(pago);
     }
 
     @Transactional(readOnly = true)
     public List<Gastos> buscarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
         log.debug("Buscando gastos entre {} e {}", dataInicio, dataFim);
-        return gastosRepository.buscarPorPeriodo(dataInicio, dataFim);
+        return gastosArmazenamento.buscarPorPeriodo(dataInicio, dataFim);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Gastos> pesquisar(FiltroGastosDTO filtro) {
+        log.debug("Pesquisando gastos com filtro: {}", filtro);
+
+        validarFiltro(filtro);
+
+        Sort.Direction direcao = Sort.Direction.fromString(filtro.getDirecao());
+        Comparator<Gastos> ordenacao = CAMPOS_ORDENAVEIS.get(filtro.getOrdenarPor())
+                .thenComparing(Gastos::getId);
+        if (direcao.isDescending()) {
+            ordenacao = ordenacao.reversed();
+        }
+
+        return gastosArmazenamento.pesquisar(filtro, ordenacao);
+    }
+
+    private Gastos obterAtivoPorId(Long id) {
+        return gastosArmazenamento.buscarParaAlteracao(id)
+                .orElseThrow(() -> {
+                    log.warn("Gasto não encontrado. ID: {}", id);
+                    return new GastosNotFoundException(id);
+                });
     }
 
     // ==================== ATUALIZAR ====================
@@ -99,7 +165,7 @@ public class GastosService {
     public Gastos atualizar(Long id, Gastos gastosAtualizado) {
         log.info("Atualizando gasto com ID: {}", id);
         
-        Gastos gastos = obterPorId(id);
+        Gastos gastos = obterAtivoPorId(id);
         
         validarGastosObrigatorios(gastosAtualizado);
         
@@ -110,7 +176,7 @@ public class GastosService {
         gastos.setAtrasado(gastosAtualizado.getAtrasado());
         gastos.setRecorrente(gastosAtualizado.getRecorrente());
         
-        Gastos gastosSalvo = gastosRepository.save(gastos);
+        Gastos gastosSalvo = gastosArmazenamento.salvar(gastos);
         log.info("Gasto atualizado com sucesso. ID: {}", id);
         
         return gastosSalvo;
@@ -119,11 +185,11 @@ public class GastosService {
     public Gastos marcarComoPago(Long id) {
         log.info("Marcando gasto com ID {} como pago", id);
         
-        Gastos gastos = obterPorId(id);
+        Gastos gastos = obterAtivoPorId(id);
         gastos.setPago(true);
         gastos.setAtrasado(false);
         
-        Gastos gastosSalvo = gastosRepository.save(gastos);
+        Gastos gastosSalvo = gastosArmazenamento.salvar(gastos);
         log.info("Gasto marcado como pago. ID: {}", id);
         
         return gastosSalvo;
@@ -132,10 +198,10 @@ public class GastosService {
     public Gastos marcarComoNaoPago(Long id) {
         log.info("Marcando gasto com ID {} como não pago", id);
         
-        Gastos gastos = obterPorId(id);
+        Gastos gastos = obterAtivoPorId(id);
         gastos.setPago(false);
         
-        Gastos gastosSalvo = gastosRepository.save(gastos);
+        Gastos gastosSalvo = gastosArmazenamento.salvar(gastos);
         log.info("Gasto marcado como não pago. ID: {}", id);
         
         return gastosSalvo;
@@ -144,10 +210,10 @@ public class GastosService {
     public Gastos marcarComoAtrasado(Long id) {
         log.info("Marcando gasto com ID {} como atrasado", id);
         
-        Gastos gastos = obterPorId(id);
+        Gastos gastos = obterAtivoPorId(id);
         gastos.setAtrasado(true);
         
-        Gastos gastosSalvo = gastosRepository.save(gastos);
+        Gastos gastosSalvo = gastosArmazenamento.salvar(gastos);
         log.info("Gasto marcado como atrasado. ID: {}", id);
         
         return gastosSalvo;
@@ -158,8 +224,8 @@ public class GastosService {
     public void deletar(Long id) {
         log.info("Deletando gasto com ID: {}", id);
         
-        Gastos gastos = obterPorId(id);
-        gastosRepository.delete(gastos);
+        Gastos gastos = obterAtivoPorId(id);
+        gastosArmazenamento.deletar(gastos);
         
         log.info("Gasto deletado com sucesso. ID: {}", id);
     }
@@ -169,9 +235,7 @@ public class GastosService {
     @Transactional(readOnly = true)
     public BigDecimal calcularTotalGastos() {
         log.debug("Calculando total de gastos");
-        return listarTodos().stream()
-                .map(Gastos::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return gastosArmazenamento.somarValores();
     }
 
     @Transactional(readOnly = true)
@@ -198,6 +262,23 @@ public class GastosService {
 
     // ==================== VALIDAÇÕES ====================
 
+    private void validarFiltro(FiltroGastosDTO filtro) {
+        if (filtro.getOrdenarPor() == null || !CAMPOS_ORDENAVEIS.containsKey(filtro.getOrdenarPor())) {
+            log.warn("Campo de ordenação não permitido: {}", filtro.getOrdenarPor());
+            throw new IllegalArgumentException("Ordenação permitida apenas por: " + CAMPOS_ORDENAVEIS.keySet());
+        }
+
+        if (filtro.getValorMinimo() != null && filtro.getValorMaximo() != null
+                && filtro.getValorMinimo().compareTo(filtro.getValorMaximo()) > 0) {
+            throw new IllegalArgumentException("Valor mínimo não pode ser maior que o valor máximo");
+        }
+
+        if (filtro.getDataInicio() != null && filtro.getDataFim() != null
+                && filtro.getDataInicio().isAfter(filtro.getDataFim())) {
+            throw new IllegalArgumentException("Data de início não pode ser posterior à data de fim");
+        }
+    }
+
     private void validarGastosObrigatorios(Gastos gastos) {
         if (gastos == null) {
             log.error("Tentativa de salvar gasto nulo");
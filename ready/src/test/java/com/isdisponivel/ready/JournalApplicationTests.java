@@ -0,0 +1,80 @@
+package com.isdisponivel.ready;
+
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.repository.GastosArmazenamento;
+import com.isdisponivel.ready.repository.journal.JournalGastosArmazenamento;
+import com.isdisponivel.ready.service.GastosService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe a aplicação com o profile journal, sem banco: confere as exclusões de autoconfiguração e os
+ * {@code @ConditionalOnProperty} passando por GastosService.
+ */
+@SpringBootTest
+@ActiveProfiles("journal")
+class JournalApplicationTests {
+
+	@TempDir
+	static Path diretorio;
+
+	@DynamicPropertySource
+	static void journal(DynamicPropertyRegistry registry) {
+		registry.add("gastos.journal.diretorio", () -> diretorio.toString());
+		registry.add("gastos.journal.sincronizar", () -> "false");
+	}
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private GastosArmazenamento gastosArmazenamento;
+
+	@Autowired
+	private GastosService gastosService;
+
+	@Test
+	void contextLoadsSemBanco() {
+		assertThat(gastosArmazenamento).isInstanceOf(JournalGastosArmazenamento.class);
+		assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+		assertThat(Files.exists(diretorio.resolve("gastos.journal"))).isTrue();
+	}
+
+	@Test
+	void criaAtualizaELeGastoPeloServico() {
+		Gastos criado = gastosService.criar(Gastos.builder()
+				.descricao("Aluguel")
+				.formaDePagamento("PIX")
+				.valor(new BigDecimal("1500.00"))
+				.pago(false)
+				.atrasado(false)
+				.recorrente(true)
+				.build());
+
+		assertThat(criado.getId()).isNotNull();
+		assertThat(criado.getVersao()).isZero();
+
+		Gastos pago = gastosService.marcarComoPago(criado.getId());
+		assertThat(pago.getVersao()).isEqualTo(1L);
+
+		Gastos lido = gastosService.obterPorId(criado.getId());
+		assertThat(lido.getDescricao()).isEqualTo("Aluguel");
+		assertThat(lido.getPago()).isTrue();
+		assertThat(lido.getVersao()).isEqualTo(1L);
+		assertThat(gastosService.buscarRecorrentes()).extracting(Gastos::getId).contains(criado.getId());
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.isdisponivel.ready.repository;
+
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.repository.journal.JournalGastosArmazenamento;
+import com.isdisponivel.ready.service.ArquivamentoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara vazão e latência do armazenamento JPA com o journal para inserir, buscar por ID e atualizar.
+ * Não roda no build normal: {@code ./mvnw test -Dtest=GastosArmazenamentoBenchmarkTest -Dbenchmark=true}.
+ * <p>
+ * O lado JPA usa o H2 em memória do @DataJpaTest, sem ida e volta de rede nem fsync; contra o MySQL
+ * real a diferença para o journal tende a ser maior.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({JpaGastosArmazenamento.class, GastosPesquisaRepository.class, ArquivamentoService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GastosArmazenamentoBenchmarkTest {
+
+    private static final int AQUECIMENTO = 1_000;
+    private static final int OPERACOES = 5_000;
+
+    @Autowired
+    private JpaGastosArmazenamento jpaGastosArmazenamento;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void compararJpaComJournal() {
+        boolean sincronizar = Boolean.parseBoolean(System.getProperty("benchmark.journal.sincronizar", "true"));
+        JournalGastosArmazenamento journal = new JournalGastosArmazenamento(diretorio, sincronizar, 4096, 100_000);
+
+        try {
+            List<String> linhas = new ArrayList<>();
+            linhas.addAll(medir("jpa", jpaGastosArmazenamento));
+            linhas.addAll(medir(sincronizar ? "journal" : "journal*", journal));
+
+            System.out.printf("%n%-10s %-12s %12s %10s %10s%n", "modo", "operação", "ops/s", "p50 (µs)", "p99 (µs)");
+            linhas.forEach(System.out::println);
+            if (!sincronizar) {
+                System.out.println("* journal sem force() a cada gravação");
+            }
+        } finally {
+            journal.fechar();
+        }
+    }
+
+    private List<String> medir(String modo, GastosArmazenamento armazenamento) {
+        executar(armazenamento, AQUECIMENTO);
+        Resultado resultado = executar(armazenamento, OPERACOES);
+
+        return List.of(
+                resultado.inserir.linha(modo, "inserir"),
+                resultado.buscar.linha(modo, "buscarPorId"),
+                resultado.atualizar.linha(modo, "atualizar"));
+    }
+
+    private Resultado executar(GastosArmazenamento armazenamento, int operacoes) {
+        Resultado resultado = new Resultado(operacoes);
+        long[] ids = new long[operacoes];
+        Random aleatorio = new Random(42);
+
+        cronometrar(resultado.inserir, operacoes, i -> ids[(int) i] = armazenamento.salvar(novoGasto(i)).getId());
+
+        cronometrar(resultado.buscar, operacoes, i -> {
+            long id = ids[aleatorio.nextInt(operacoes)];
+            assertThat(armazenamento.buscarPorId(id)).isPresent();
+        });
+
+        cronometrar(resultado.atualizar, operacoes, i -> {
+            Gastos gastos = armazenamento.buscarParaAlteracao(ids[(int) i]).orElseThrow();
+            gastos.setPago(!gastos.getPago());
+            armazenamento.salvar(gastos);
+        });
+
+        return resultado;
+    }
+
+    private static void cronometrar(Latencias latencias, int operacoes, LongConsumer operacao) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < operacoes; i++) {
+            long antes = System.nanoTime();
+            operacao.accept(i);
+            latencias.nanos[i] = System.nanoTime() - antes;
+        }
+        latencias.totalNanos = System.nanoTime() - inicio;
+    }
+
+    private static Gastos novoGasto(long i) {
+        return Gastos.builder()
+                .descricao("Gasto de benchmark " + i)
+                .formaDePagamento(i % 2 == 0 ? "PIX" : "CARTAO")
+                .valor(BigDecimal.valueOf(1_000 + i, 2))
+                .pago(false)
+                .atrasado(false)
+                .recorrente(false)
+                .build();
+    }
+
+    private static final class Resultado {
+
+        private final Latencias inserir;
+        private final Latencias buscar;
+        private final Latencias atualizar;
+
+        private Resultado(int operacoes) {
+            this.inserir = new Latencias(operacoes);
+            this.buscar = new Latencias(operacoes);
+            this.atualizar = new Latencias(operacoes);
+        }
+
+    }
+
+    private static final class Latencias {
+
+        private final long[] nanos;
+        private long totalNanos;
+
+        private Latencias(int operacoes) {
+            this.nanos = new long[operacoes];
+        }
+
+        private String linha(String modo, String operacao) {
+            long[] ordenadas = nanos.clone();
+            Arrays.sort(ordenadas);
+            double opsPorSegundo = nanos.length / (totalNanos / 1_000_000_000.0);
+
+            return String.format("%-10s %-12s %12.0f %10d %10d", modo, operacao, opsPorSegundo,
+                    percentil(ordenadas, 0.50) / 1_000, percentil(ordenadas, 0.99) / 1_000);
+        }
+
+        private static long percentil(long[] ordenadas, double percentil) {
+            return ordenadas[(int) Math.ceil(percentil * ordenadas.length) - 1];
+        }
+
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.isdisponivel.ready.repository;
+
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
+import com.isdisponivel.ready.model.Gastos;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere no MySQL (EXPLAIN com os valores reais) que os índices de produto_ent usados pela pesquisa
+ * combinada são de fato escolhidos. Cada índice de pesquisa em Gastos deve aparecer aqui; índices que
+ * começam por uma coluna booleana isolada (pago, atrasado) foram descartados porque o MySQL os ignora.
+ * Só roda com Docker disponível.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.isdisponivel.ready.repository.GastosPesquisaPlanoMySqlTest$CapturaSql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GastosPesquisaRepository.class, GastosPesquisaPlanoMySqlTest.MySql.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIf("dockerDisponivel")
+class GastosPesquisaPlanoMySqlTest {
+
+    private static final int GASTOS = 20_000;
+    private static final List<String> FORMAS = List.of("PIX", "CARTAO", "BOLETO", "DINHEIRO", "DEBITO");
+    private static final LocalDateTime AGORA = LocalDateTime.now();
+
+    @Autowired
+    private GastosPesquisaRepository gastosPesquisaRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    static boolean dockerDisponivel() {
+        return DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @BeforeEach
+    void popularGastos() throws SQLException {
+        try (Connection conexao = dataSource.getConnection()) {
+            try (Statement consulta = conexao.createStatement();
+                 ResultSet total = consulta.executeQuery("SELECT COUNT(*) FROM produto_ent")) {
+                total.next();
+                if (total.getLong(1) > 0) {
+                    return;
+                }
+            }
+
+            // Distribuição próxima da real: dois anos de gastos, ~70% pagos, ~5% atrasados
+            Random aleatorio = new Random(42);
+            try (PreparedStatement insercao = conexao.prepareStatement("INSERT INTO produto_ent "
+                    + "(descricao, forma_de_pagamento, valor, pago, atrasado, recorrente, data_criacao, data_atualizacao, versao) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)")) {
+                for (int i = 0; i < GASTOS; i++) {
+                    LocalDateTime data = AGORA.minusMinutes(aleatorio.nextInt(2 * 365 * 24 * 60));
+                    insercao.setString(1, "Gasto " + i);
+                    insercao.setString(2, FORMAS.get(aleatorio.nextInt(FORMAS.size())));
+                    insercao.setBigDecimal(3, BigDecimal.valueOf(1_000 + aleatorio.nextInt(100_000), 2));
+                    insercao.setBoolean(4, aleatorio.nextInt(10) < 7);
+                    insercao.setBoolean(5, aleatorio.nextInt(20) == 0);
+                    insercao.setBoolean(6, aleatorio.nextInt(10) == 0);
+                    insercao.setObject(7, data);
+                    insercao.setObject(8, data);
+                    insercao.addBatch();
+                }
+                insercao.executeBatch();
+            }
+
+            try (Statement analise = conexao.createStatement()) {
+                analise.execute("ANALYZE TABLE produto_ent");
+            }
+        }
+    }
+
+    static Stream<Arguments> combinacoesComuns() {
+        LocalDateTime fim = AGORA.plusDays(1);
+        LocalDateTime inicio = fim.minusMonths(1);
+
+        return Stream.of(
+                Arguments.of("PIX não pago no mês acima de 100", FiltroGastosDTO.builder()
+                        .pago(false).formaDePagamento("PIX").valorMinimo(new BigDecimal("100.00"))
+                        .dataInicio(inicio).dataFim(fim).build(),
+                        Set.of("idx_produto_ent_forma_pago_data")),
+                // Com ORDER BY data_criacao LIMIT o otimizador pode preferir percorrer o índice de data
+                Arguments.of("forma de pagamento não paga", FiltroGastosDTO.builder()
+                        .pago(false).formaDePagamento("BOLETO").build(),
+                        Set.of("idx_produto_ent_forma_pago_data", "idx_produto_ent_data_criacao")),
+                Arguments.of("período", FiltroGastosDTO.builder()
+                        .dataInicio(inicio).dataFim(fim).build(),
+                        Set.of("idx_produto_ent_data_criacao")),
+                Arguments.of("não pagos no período", FiltroGastosDTO.builder()
+                        .pago(false).dataInicio(inicio).dataFim(fim).build(),
+                        Set.of("idx_produto_ent_data_criacao", "idx_produto_ent_forma_pago_data"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("combinacoesComuns")
+    void mySqlEscolheOIndice(String combinacao, FiltroGastosDTO filtro, Set<String> indicesEsperados)
+            throws SQLException {
+        CapturaSql.limpar();
+
+        List<Gastos> gastos = gastosPesquisaRepository.pesquisar(Gastos.class, GastosSpecifications.filtrar(filtro),
+                Sort.by(Sort.Direction.DESC, filtro.getOrdenarPor(), "id"), filtro.getLimite());
+        assertThat(gastos).as(combinacao).isNotEmpty();
+
+        String sql = CapturaSql.ultima();
+        assertThat(sql).as("SQL da pesquisa").isNotNull().containsIgnoringCase("produto_ent");
+
+        Plano plano = explicar(sql, parametros(filtro));
+        assertThat(plano.tipo()).as("tipo de acesso de " + combinacao + ": " + plano).isNotEqualTo("ALL");
+        assertThat(plano.indice()).as("índice de " + combinacao + ": " + plano).isIn(indicesEsperados);
+    }
+
+    // Na mesma ordem em que GastosSpecifications adiciona os predicados
+    private static List<Object> parametros(FiltroGastosDTO filtro) {
+        List<Object> parametros = new ArrayList<>();
+        Stream.of(filtro.getPago(), filtro.getAtrasado(), filtro.getRecorrente(), filtro.getFormaDePagamento(),
+                        filtro.getValorMinimo(), filtro.getValorMaximo(), filtro.getDataInicio(), filtro.getDataFim())
+                .filter(valor -> valor != null)
+                .forEach(parametros::add);
+        return parametros;
+    }
+
+    private Plano explicar(String sql, List<Object> parametros) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+            int total = explain.getParameterMetaData().getParameterCount();
+            // O último parâmetro, quando existe, é o LIMIT
+            assertThat(total).as("parâmetros da SQL").isBetween(parametros.size(), parametros.size() + 1);
+
+            for (int i = 0; i < parametros.size(); i++) {
+                explain.setObject(i + 1, parametros.get(i));
+            }
+            if (total > parametros.size()) {
+                explain.setInt(total, 50);
+            }
+
+            try (ResultSet resultado = explain.executeQuery()) {
+                assertThat(resultado.next()).isTrue();
+                return new Plano(resultado.getString("type"), resultado.getString("key"), resultado.getString("Extra"));
+            }
+        }
+    }
+
+    private record Plano(String tipo, String indice, String extra) {
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class MySql {
+
+        @Bean
+        @ServiceConnection
+        MySQLContainer<?> mySqlContainer() {
+            return new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+        }
+
+    }
+
+    public static class CapturaSql implements StatementInspector {
+
+        private static volatile String ultima;
+
+        static void limpar() {
+            ultima = null;
+        }
+
+        static String ultima() {
+            return ultima;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            // Com use_sql_comments a SQL vem precedida de um comentário, por isso não basta olhar o início
+            String minusculas = sql.toLowerCase();
+            if (minusculas.contains("select") && !minusculas.contains("insert")) {
+                ultima = sql;
+            }
+            return sql;
+        }
+
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.isdisponivel.ready.repository;
+
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
+import com.isdisponivel.ready.model.Gastos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere o resultado da pesquisa combinada no H2. O uso de índices só é verificado contra o MySQL,
+ * em {@link GastosPesquisaPlanoMySqlTest}.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import(GastosPesquisaRepository.class)
+class GastosPesquisaRepositoryTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private GastosPesquisaRepository gastosPesquisaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // Todos os gastos gravados, para calcular em memória o resultado esperado de cada pesquisa
+    private List<Gastos> todos;
+
+    @BeforeEach
+    void popularGastos() {
+        // O gasto i é criado i dias atrás, para que os filtros de período tenham o que excluir
+        for (int i = 0; i < 50; i++) {
+            envelhecer(entityManager.persistAndGetId(novoGasto("Gasto " + i, i), Long.class), i);
+        }
+        envelhecer(entityManager.persistAndGetId(novoGasto("Desconto 10% no mercado", 50), Long.class), 50);
+        envelhecer(entityManager.persistAndGetId(novoGasto("Conta_luz", 51), Long.class), 51);
+        envelhecer(entityManager.persistAndGetId(novoGasto("Taxa 100! do banco", 52), Long.class), 52);
+        entityManager.clear();
+
+        todos = entityManager.getEntityManager()
+                .createQuery("SELECT g FROM Gastos g", Gastos.class)
+                .getResultList();
+    }
+
+    static Stream<Arguments> combinacoesComuns() {
+        LocalDateTime fim = AGORA.plusDays(1);
+        LocalDateTime inicio = AGORA.minusMonths(1);
+
+        return Stream.of(
+                Arguments.of("PIX não pago no mês acima de 100", FiltroGastosDTO.builder()
+                        .pago(false).formaDePagamento("PIX").valorMinimo(new BigDecimal("100.00"))
+                        .dataInicio(inicio).dataFim(fim).build()),
+                Arguments.of("não pagos no período", FiltroGastosDTO.builder()
+                        .pago(false).dataInicio(inicio).dataFim(fim).build()),
+                Arguments.of("atrasados", FiltroGastosDTO.builder()
+                        .atrasado(true).build()),
+                Arguments.of("forma de pagamento", FiltroGastosDTO.builder()
+                        .formaDePagamento("CARTAO").build()),
+                Arguments.of("período", FiltroGastosDTO.builder()
+                        .dataInicio(inicio).dataFim(fim).build()),
+                Arguments.of("período encerrado no passado", FiltroGastosDTO.builder()
+                        .dataInicio(AGORA.minusDays(40)).dataFim(AGORA.minusDays(20)).build()),
+                Arguments.of("faixa de valores", FiltroGastosDTO.builder()
+                        .valorMinimo(new BigDecimal("150.00")).valorMaximo(new BigDecimal("300.00")).build()),
+                Arguments.of("até um valor", FiltroGastosDTO.builder()
+                        .valorMaximo(new BigDecimal("200.00")).build()),
+                Arguments.of("recorrentes", FiltroGastosDTO.builder()
+                        .recorrente(true).build()),
+                Arguments.of("não recorrentes pagos por valor", FiltroGastosDTO.builder()
+                        .recorrente(false).pago(true).ordenarPor("valor").direcao("ASC").build()),
+                Arguments.of("termo no período", FiltroGastosDTO.builder()
+                        .termo("Gasto 1").dataInicio(AGORA.minusDays(15)).build()),
+                Arguments.of("limite", FiltroGastosDTO.builder()
+                        .pago(false).limite(5).build())
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("combinacoesComuns")
+    void pesquisaAplicaTodosOsCriterios(String combinacao, FiltroGastosDTO filtro) {
+        List<Gastos> atendem = todos.stream().filter(gastos -> atendeFiltro(gastos, filtro)).toList();
+        // Cada combinação precisa deixar algum gasto de fora, senão não prova nada
+        assertThat(atendem).as(combinacao).isNotEmpty().hasSizeLessThan(todos.size());
+
+        assertThat(pesquisar(filtro)).as(combinacao).extracting(Gastos::getId)
+                .containsExactlyElementsOf(esperados(atendem, filtro));
+    }
+
+    @Test
+    void termoComCuringasEProcuradoLiteralmente() {
+        assertThat(pesquisar(FiltroGastosDTO.builder().termo("10%").build()))
+                .extracting(Gastos::getDescricao).containsExactly("Desconto 10% no mercado");
+        assertThat(pesquisar(FiltroGastosDTO.builder().termo("_").build()))
+                .extracting(Gastos::getDescricao).containsExactly("Conta_luz");
+        assertThat(pesquisar(FiltroGastosDTO.builder().termo("100!").build()))
+                .extracting(Gastos::getDescricao).containsExactly("Taxa 100! do banco");
+        assertThat(pesquisar(FiltroGastosDTO.builder().termo("%").build()))
+                .extracting(Gastos::getDescricao).containsExactly("Desconto 10% no mercado");
+    }
+
+    private List<Gastos> pesquisar(FiltroGastosDTO filtro) {
+        Sort.Direction direcao = Sort.Direction.fromString(filtro.getDirecao());
+        return gastosPesquisaRepository.pesquisar(Gastos.class, GastosSpecifications.filtrar(filtro),
+                Sort.by(direcao, filtro.getOrdenarPor(), "id"), filtro.getLimite());
+    }
+
+    // ==================== HELPER ====================
+
+    private static boolean atendeFiltro(Gastos gastos, FiltroGastosDTO filtro) {
+        return (filtro.getPago() == null || gastos.getPago().equals(filtro.getPago()))
+                && (filtro.getAtrasado() == null || gastos.getAtrasado().equals(filtro.getAtrasado()))
+                && (filtro.getRecorrente() == null || gastos.getRecorrente().equals(filtro.getRecorrente()))
+                && (filtro.getFormaDePagamento() == null
+                        || gastos.getFormaDePagamento().equals(filtro.getFormaDePagamento()))
+                && (filtro.getValorMinimo() == null || gastos.getValor().compareTo(filtro.getValorMinimo()) >= 0)
+                && (filtro.getValorMaximo() == null || gastos.getValor().compareTo(filtro.getValorMaximo()) <= 0)
+                && (filtro.getDataInicio() == null || !gastos.getDataCriacao().isBefore(filtro.getDataInicio()))
+                && (filtro.getDataFim() == null || !gastos.getDataCriacao().isAfter(filtro.getDataFim()))
+                && (filtro.getTermo() == null || gastos.getDescricao().contains(filtro.getTermo()));
+    }
+
+    private static List<Long> esperados(List<Gastos> atendem, FiltroGastosDTO filtro) {
+        Comparator<Gastos> ordenacao = switch (filtro.getOrdenarPor()) {
+            case "dataCriacao" -> Comparator.comparing(Gastos::getDataCriacao);
+            case "valor" -> Comparator.comparing(Gastos::getValor);
+            default -> throw new IllegalArgumentException(filtro.getOrdenarPor());
+        };
+        ordenacao = ordenacao.thenComparing(Gastos::getId);
+        if (Sort.Direction.fromString(filtro.getDirecao()).isDescending()) {
+            ordenacao = ordenacao.reversed();
+        }
+        return atendem.stream().sorted(ordenacao).limit(filtro.getLimite()).map(Gastos::getId).toList();
+    }
+
+    // @CreationTimestamp/@UpdateTimestamp sobrescrevem as datas; envelhece direto na tabela
+    private void envelhecer(Long id, int diasAtras) {
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE produto_ent SET data_criacao = :data, data_atualizacao = :data WHERE id = :id")
+                .setParameter("data", AGORA.minusDays(diasAtras))
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    private static Gastos novoGasto(String descricao, int i) {
+        return Gastos.builder()
+                .descricao(descricao)
+                .formaDePagamento(i % 2 == 0 ? "PIX" : "CARTAO")
+                .valor(BigDecimal.valueOf(50 + i * 10L))
+                .pago(i % 3 == 0)
+                .atrasado(i % 5 == 0)
+                .recorrente(i % 7 == 0)
+                .build();
+    }
+
+}
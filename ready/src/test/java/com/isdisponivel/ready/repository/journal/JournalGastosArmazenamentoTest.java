@@ -0,0 +1,184 @@
+package com.isdisponivel.ready.repository.journal;
+
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.repository.GastosArmazenamento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalGastosArmazenamentoTest {
+
+    @TempDir
+    Path diretorio;
+
+    private JournalGastosArmazenamento armazenamento;
+
+    @BeforeEach
+    void abrir() {
+        armazenamento = novoArmazenamento();
+    }
+
+    @AfterEach
+    void fechar() {
+        armazenamento.fechar();
+    }
+
+    @Test
+    void recuperaGastosAoReabrir() {
+        Gastos aluguel = armazenamento.salvar(novoGasto("Aluguel"));
+        Gastos mercado = armazenamento.salvar(novoGasto("Mercado"));
+        armazenamento.deletar(mercado);
+
+        reabrir();
+
+        assertThat(armazenamento.buscarPorId(aluguel.getId()))
+                .hasValueSatisfying(gastos -> assertThat(gastos.getDescricao()).isEqualTo("Aluguel"));
+        assertThat(armazenamento.buscarPorId(mercado.getId())).isEmpty();
+        assertThat(armazenamento.salvar(novoGasto("Luz")).getId()).isGreaterThan(mercado.getId());
+    }
+
+    @Test
+    void rejeitaVersaoDesatualizada() {
+        Long id = armazenamento.salvar(novoGasto("Internet")).getId();
+
+        Gastos primeiraLeitura = armazenamento.buscarParaAlteracao(id).orElseThrow();
+        Gastos segundaLeitura = armazenamento.buscarParaAlteracao(id).orElseThrow();
+
+        primeiraLeitura.setPago(true);
+        assertThat(armazenamento.salvar(primeiraLeitura).getVersao()).isEqualTo(1L);
+
+        segundaLeitura.setAtrasado(true);
+        assertThatThrownBy(() -> armazenamento.salvar(segundaLeitura))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void listagensVemDaMaisRecenteParaAMaisAntiga() {
+        Gastos aluguel = armazenamento.salvar(novoGasto("Aluguel"));
+        Gastos mercado = armazenamento.salvar(novoGasto("Mercado"));
+        Gastos luz = armazenamento.salvar(novoGasto("Luz"));
+
+        // Mesma ordem do modo JPA: dataCriacao DESC, id DESC
+        assertThat(armazenamento.listarTodos()).extracting(Gastos::getId)
+                .containsExactly(luz.getId(), mercado.getId(), aluguel.getId());
+        assertThat(armazenamento.buscarNaoPagos()).extracting(Gastos::getId)
+                .containsExactly(luz.getId(), mercado.getId(), aluguel.getId());
+        assertThat(armazenamento.buscarPorFormaDePagamento("PIX"))
+                .isSortedAccordingTo(GastosArmazenamento.MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Test
+    void descartaGravacaoIncompleta() throws IOException {
+        Gastos aluguel = armazenamento.salvar(novoGasto("Aluguel"));
+        Gastos mercado = armazenamento.salvar(novoGasto("Mercado"));
+        armazenamento.fechar();
+
+        // Simula uma queda no meio da gravação do segundo registro
+        try (FileChannel canal = FileChannel.open(diretorio.resolve("gastos.journal"), StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), RegistroJournal.TAMANHO + 100L);
+        }
+
+        armazenamento = novoArmazenamento();
+
+        assertThat(armazenamento.buscarPorId(aluguel.getId())).isPresent();
+        assertThat(armazenamento.buscarPorId(mercado.getId())).isEmpty();
+    }
+
+    @Test
+    void descartaRegistrosAposLacuna() throws IOException {
+        armazenamento.salvar(novoGasto("Aluguel"));
+        armazenamento.salvar(novoGasto("Mercado"));
+        armazenamento.salvar(novoGasto("Luz"));
+        armazenamento.fechar();
+
+        // Sem sincronizar, o terceiro registro chegou ao disco e o segundo não
+        try (FileChannel canal = FileChannel.open(diretorio.resolve("gastos.journal"), StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[RegistroJournal.TAMANHO]), RegistroJournal.TAMANHO);
+        }
+
+        armazenamento = novoArmazenamento();
+        assertThat(armazenamento.listarTodos()).extracting(Gastos::getDescricao).containsExactly("Aluguel");
+
+        // A nova gravação ocupa a lacuna; "Luz" não pode voltar na próxima leitura
+        armazenamento.salvar(novoGasto("Internet"));
+        reabrir();
+
+        assertThat(armazenamento.listarTodos()).extracting(Gastos::getDescricao)
+                .containsExactlyInAnyOrder("Aluguel", "Internet");
+    }
+
+    @Test
+    void falhaAoMontarRegistroNaoAlteraOGasto() {
+        Gastos grandeDemais = novoGasto("😀".repeat(300));
+
+        assertThatThrownBy(() -> armazenamento.salvar(grandeDemais)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(grandeDemais.getId()).isNull();
+        assertThat(grandeDemais.getVersao()).isNull();
+        assertThat(grandeDemais.getDataCriacao()).isNull();
+
+        Gastos aluguel = armazenamento.salvar(novoGasto("Aluguel"));
+        assertThat(aluguel.getId()).isEqualTo(1L);
+
+        Gastos alteracao = armazenamento.buscarParaAlteracao(aluguel.getId()).orElseThrow();
+        LocalDateTime dataAtualizacao = alteracao.getDataAtualizacao();
+        alteracao.setValor(new BigDecimal("1E+20"));
+
+        assertThatThrownBy(() -> armazenamento.salvar(alteracao)).isInstanceOf(ArithmeticException.class);
+        assertThat(alteracao.getVersao()).isZero();
+        assertThat(alteracao.getDataAtualizacao()).isEqualTo(dataAtualizacao);
+        assertThat(armazenamento.buscarPorId(aluguel.getId()))
+                .hasValueSatisfying(gastos -> assertThat(gastos.getVersao()).isZero());
+    }
+
+    @Test
+    void compactacaoMantemGastosVivos() {
+        Gastos gastos = armazenamento.salvar(novoGasto("Academia"));
+        for (int i = 0; i < 20; i++) {
+            gastos.setPago(!gastos.getPago());
+            gastos = armazenamento.salvar(gastos);
+        }
+        Gastos removido = armazenamento.salvar(novoGasto("Streaming"));
+        armazenamento.deletar(removido);
+
+        armazenamento.compactar();
+        reabrir();
+
+        assertThat(armazenamento.listarTodos()).singleElement()
+                .satisfies(atual -> assertThat(atual.getVersao()).isEqualTo(20L));
+        assertThat(armazenamento.salvar(novoGasto("Luz")).getId()).isGreaterThan(removido.getId());
+    }
+
+    private void reabrir() {
+        armazenamento.fechar();
+        armazenamento = novoArmazenamento();
+    }
+
+    private JournalGastosArmazenamento novoArmazenamento() {
+        return new JournalGastosArmazenamento(diretorio, false, 16, 1000);
+    }
+
+    private static Gastos novoGasto(String descricao) {
+        return Gastos.builder()
+                .descricao(descricao)
+                .formaDePagamento("PIX")
+                .valor(new BigDecimal("100.00"))
+                .pago(false)
+                .atrasado(false)
+                .recorrente(false)
+                .build();
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.isdisponivel.ready.service;
+
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.model.GastosArquivados;
+import com.isdisponivel.ready.repository.GastosArquivadosRepository;
+import com.isdisponivel.ready.repository.GastosPesquisaRepository;
+import com.isdisponivel.ready.repository.GastosRepository;
+import com.isdisponivel.ready.repository.JpaGastosArmazenamento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Sem a transação do teste: o arquivamento abre uma transação por lote e o rollback de um lote
+ * inconsistente precisa acontecer de verdade.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "gastos.arquivamento.idade-dias=30",
+        "gastos.arquivamento.tamanho-lote=2",
+        "gastos.arquivamento.atraso-inicial-ms=3600000",
+        "gastos.carregador.habilitado=false"
+})
+@Import({ArquivamentoService.class, JpaGastosArmazenamento.class, GastosPesquisaRepository.class,
+        GastosService.class, GastosCarregador.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ArquivamentoServiceTest {
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    @Autowired
+    private GastosService gastosService;
+
+    @Autowired
+    private JpaGastosArmazenamento jpaGastosArmazenamento;
+
+    @Autowired
+    private GastosRepository gastosRepository;
+
+    @Autowired
+    private GastosArquivadosRepository gastosArquivadosRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void limpar() {
+        gastosArquivadosRepository.deleteAllInBatch();
+        gastosRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void arquivaSomenteGastosQuitadosAntigos() {
+        Long quitado = criar("Quitado", true, false, false, 60);
+        Long quitadoOutro = criar("Quitado outro", true, false, false, 45);
+        Long quitadoRecente = criar("Quitado recente", true, false, false, 5);
+        Long naoPago = criar("Não pago", false, false, false, 60);
+        Long atrasado = criar("Atrasado", true, true, false, 60);
+        Long recorrente = criar("Recorrente", true, false, true, 60);
+
+        arquivamentoService.arquivarGastosQuitados();
+
+        assertThat(gastosArquivadosRepository.findAll()).extracting(GastosArquivados::getId)
+                .containsExactlyInAnyOrder(quitado, quitadoOutro);
+        assertThat(gastosRepository.findAll()).extracting(Gastos::getId)
+                .containsExactlyInAnyOrder(quitadoRecente, naoPago, atrasado, recorrente);
+    }
+
+    @Test
+    void loteInconsistenteEDesfeito() {
+        Long quitado = criar("Quitado", true, false, false, 60);
+
+        // A remoção "perde" um gasto que já foi copiado para o arquivo
+        GastosRepository repositorioDivergente = mock(GastosRepository.class, delegatesTo(gastosRepository));
+        doReturn(0).when(repositorioDivergente).removerArquivados(any(), any());
+
+        ArquivamentoService servico = new ArquivamentoService(
+                repositorioDivergente, gastosArquivadosRepository, transactionManager);
+        ReflectionTestUtils.setField(servico, "habilitado", true);
+        ReflectionTestUtils.setField(servico, "idadeDias", 30L);
+        ReflectionTestUtils.setField(servico, "tamanhoLote", 10);
+        ReflectionTestUtils.setField(servico, "maxLotesPorExecucao", 1);
+
+        servico.arquivarGastosQuitados();
+
+        assertThat(gastosArquivadosRepository.count()).isZero();
+        assertThat(gastosRepository.findById(quitado)).isPresent();
+    }
+
+    @Test
+    void obterPorIdConsultaOArquivo() {
+        Long id = criar("Seguro", true, false, false, 60);
+        arquivamentoService.arquivarGastosQuitados();
+
+        assertThat(gastosRepository.existsById(id)).isFalse();
+        assertThat(gastosService.obterPorId(id).getDescricao()).isEqualTo("Seguro");
+    }
+
+    @Test
+    void buscarPorPeriodoIgnoraArquivoAposGastoArquivadoMaisRecente() {
+        Long arquivado = criar("Arquivado", true, false, false, 60);
+        Long ativo = criar("Ativo", false, false, false, 60);
+        arquivamentoService.arquivarGastosQuitados();
+
+        LocalDateTime maisRecenteArquivado = gastosArquivadosRepository.findById(arquivado)
+                .orElseThrow().getDataCriacao();
+        LocalDateTime agora = LocalDateTime.now();
+
+        assertThat(arquivamentoService.alcancaDadosFrios(maisRecenteArquivado)).isTrue();
+        assertThat(arquivamentoService.alcancaDadosFrios(maisRecenteArquivado.plusSeconds(1))).isFalse();
+        assertThat(gastosService.buscarPorPeriodo(maisRecenteArquivado.plusSeconds(1), agora)).isEmpty();
+
+        // Aumentar idade-dias depois do arquivamento não pode esconder o que já foi arquivado
+        ArquivamentoService alvo = AopTestUtils.getTargetObject(arquivamentoService);
+        ReflectionTestUtils.setField(alvo, "idadeDias", 365L);
+        try {
+            assertThat(gastosService.buscarPorPeriodo(agora.minusDays(90), agora)).extracting(Gastos::getId)
+                    .containsExactlyInAnyOrder(arquivado, ativo);
+        } finally {
+            ReflectionTestUtils.setField(alvo, "idadeDias", 30L);
+        }
+    }
+
+    @Test
+    void alteracaoRestauraGastoArquivadoComMesmoIdEVersao() {
+        Long id = criar("Academia", true, false, false, 60);
+        Long versao = gastosRepository.findById(id).orElseThrow().getVersao();
+        arquivamentoService.arquivarGastosQuitados();
+
+        Gastos restaurado = jpaGastosArmazenamento.buscarParaAlteracao(id).orElseThrow();
+
+        assertThat(restaurado.getId()).isEqualTo(id);
+        assertThat(restaurado.getVersao()).isEqualTo(versao);
+        assertThat(gastosArquivadosRepository.existsById(id)).isFalse();
+
+        Gastos alterado = gastosService.marcarComoNaoPago(id);
+
+        assertThat(alterado.getId()).isEqualTo(id);
+        assertThat(alterado.getPago()).isFalse();
+        assertThat(alterado.getVersao()).isEqualTo(versao + 1);
+    }
+
+    @Test
+    void calcularTotalGastosIncluiArquivados() {
+        criar("Arquivado", true, false, false, 60);
+        criar("Ativo", false, false, false, 60);
+        arquivamentoService.arquivarGastosQuitados();
+
+        assertThat(gastosArquivadosRepository.count()).isEqualTo(1);
+        assertThat(gastosService.calcularTotalGastos()).isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    void pesquisarUneArquivadosRespeitandoOrdemELimite() {
+        Long arquivadoAntigo = criar("Arquivado antigo", true, false, false, 60);
+        Long ativoAntigo = criar("Ativo antigo", false, false, false, 50);
+        Long arquivadoRecente = criar("Arquivado recente", true, false, false, 40);
+        Long ativo = criar("Ativo", false, false, false, 35);
+        Long quitadoRecente = criar("Quitado recente", true, false, false, 10);
+        arquivamentoService.arquivarGastosQuitados();
+        assertThat(gastosArquivadosRepository.findAll()).extracting(GastosArquivados::getId)
+                .containsExactlyInAnyOrder(arquivadoAntigo, arquivadoRecente);
+
+        LocalDateTime agora = LocalDateTime.now();
+        FiltroGastosDTO maisRecentes = FiltroGastosDTO.builder()
+                .dataInicio(agora.minusDays(90)).dataFim(agora).limite(3).build();
+        assertThat(gastosService.pesquisar(maisRecentes)).extracting(Gastos::getId)
+                .containsExactly(quitadoRecente, ativo, arquivadoRecente);
+
+        FiltroGastosDTO maisAntigos = FiltroGastosDTO.builder()
+                .dataInicio(agora.minusDays(90)).dataFim(agora).direcao("ASC").limite(3).build();
+        assertThat(gastosService.pesquisar(maisAntigos)).extracting(Gastos::getId)
+                .containsExactly(arquivadoAntigo, ativoAntigo, arquivadoRecente);
+
+        // Valores iguais: o desempate por id tem de ser o mesmo no banco e na junção em memória
+        FiltroGastosDTO porValor = FiltroGastosDTO.builder().ordenarPor("valor").limite(4).build();
+        assertThat(gastosService.pesquisar(porValor)).extracting(Gastos::getId)
+                .containsExactly(quitadoRecente, ativo, arquivadoRecente, ativoAntigo);
+
+        // Só gastos pagos vão para o arquivo; pesquisar não pagos não deve trazê-los
+        FiltroGastosDTO naoPagos = FiltroGastosDTO.builder().pago(false).build();
+        assertThat(gastosService.pesquisar(naoPagos)).extracting(Gastos::getId)
+                .containsExactly(ativo, ativoAntigo);
+    }
+
+    // ==================== HELPER ====================
+
+    private Long criar(String descricao, boolean pago, boolean atrasado, boolean recorrente, int diasAtras) {
+        Long id = gastosRepository.save(Gastos.builder()
+                .descricao(descricao)
+                .formaDePagamento("PIX")
+                .valor(new BigDecimal("100.00"))
+                .pago(pago)
+                .atrasado(atrasado)
+                .recorrente(recorrente)
+                .build()).getId();
+
+        // @CreationTimestamp/@UpdateTimestamp sobrescrevem as datas; envelhece direto na tabela
+        LocalDateTime data = LocalDateTime.now().minusDays(diasAtras).truncatedTo(ChronoUnit.SECONDS);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+                .createNativeQuery("UPDATE produto_ent SET data_criacao = :data, data_atualizacao = :data WHERE id = :id")
+                .setParameter("data", data)
+                .setParameter("id", id)
+                .executeUpdate());
+        return id;
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.isdisponivel.ready.service;
+
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.repository.GastosPesquisaRepository;
+import com.isdisponivel.ready.repository.GastosRepository;
+import com.isdisponivel.ready.repository.JpaGastosArmazenamento;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara buscas por ID concorrentes com o GastosCarregador ligado e desligado: consultas (cada uma
+ * ocupa uma conexão do pool), pico de conexões em uso e de threads esperando conexão, vazão e p99.
+ * Não roda no build normal: {@code ./mvnw test -Dtest=GastosCarregadorBenchmarkTest -Dbenchmark=true}.
+ * <p>
+ * Usa o Hikari de verdade sobre um H2 em memória; contra o MySQL real cada consulta também paga a ida
+ * e volta de rede, o que aumenta o ganho de agrupar.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:benchmark-carregador;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=10"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaGastosArmazenamento.class, GastosPesquisaRepository.class, ArquivamentoService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GastosCarregadorBenchmarkTest {
+
+    private static final int GASTOS = 10_000;
+    private static final int CLIENTES = 64;
+    private static final int BUSCAS_POR_CLIENTE = 500;
+    private static final int AQUECIMENTO_POR_CLIENTE = 100;
+
+    @Autowired
+    private JpaGastosArmazenamento jpaGastosArmazenamento;
+
+    @Autowired
+    private GastosRepository gastosRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void compararCarregadorLigadoEDesligado() throws Exception {
+        gastosRepository.deleteAllInBatch();
+        List<Long> ids = gastosRepository.saveAll(IntStream.range(0, GASTOS).mapToObj(this::novoGasto).toList())
+                .stream().map(Gastos::getId).toList();
+
+        List<String> linhas = new ArrayList<>();
+        linhas.add(medir("desligado", false, ids));
+        linhas.add(medir("ligado", true, ids));
+
+        System.out.printf("%n%-10s %10s %10s %10s %10s %12s %12s%n", "carregador", "consultas",
+                "buscas/s", "p50 (µs)", "p99 (µs)", "conexões*", "esperando*");
+        linhas.forEach(System.out::println);
+        System.out.printf("* pico de conexões em uso e de threads esperando conexão (pool de %d)%n",
+                pool().getTotalConnections());
+    }
+
+    private String medir(String modo, boolean habilitado, List<Long> ids) throws Exception {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        GastosCarregador carregador = new GastosCarregador(jpaGastosArmazenamento, registro,
+                habilitado, 50, 2, 5_000, 4);
+        try {
+            executar(carregador, ids, AQUECIMENTO_POR_CLIENTE, new long[CLIENTES * AQUECIMENTO_POR_CLIENTE]);
+            long consultasAntes = registro.get("gastos.carregador.consulta").timer().count();
+
+            long[] latencias = new long[CLIENTES * BUSCAS_POR_CLIENTE];
+            Pico pico = new Pico(pool());
+            long inicio = System.nanoTime();
+            executar(carregador, ids, BUSCAS_POR_CLIENTE, latencias);
+            long totalNanos = System.nanoTime() - inicio;
+            pico.parar();
+
+            long consultas = registro.get("gastos.carregador.consulta").timer().count() - consultasAntes;
+            Arrays.sort(latencias);
+            return String.format("%-10s %10d %10.0f %10d %10d %12d %12d", modo, consultas,
+                    latencias.length / (totalNanos / 1_000_000_000.0),
+                    percentil(latencias, 0.50) / 1_000, percentil(latencias, 0.99) / 1_000,
+                    pico.conexoesEmUso(), pico.threadsEsperando());
+        } finally {
+            carregador.encerrar();
+        }
+    }
+
+    private static void executar(GastosCarregador carregador, List<Long> ids, int buscasPorCliente, long[] latencias)
+            throws Exception {
+        ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger proxima = new AtomicInteger();
+
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int c = 0; c < CLIENTES; c++) {
+                tarefas.add(clientes.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < buscasPorCliente; i++) {
+                        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        long antes = System.nanoTime();
+                        assertThat(carregador.carregar(id)).isPresent();
+                        latencias[proxima.getAndIncrement()] = System.nanoTime() - antes;
+                    }
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            clientes.shutdownNow();
+        }
+    }
+
+    private HikariPoolMXBean pool() throws SQLException {
+        return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+    }
+
+    private Gastos novoGasto(int i) {
+        return Gastos.builder()
+                .descricao("Gasto de benchmark " + i)
+                .formaDePagamento(i % 2 == 0 ? "PIX" : "CARTAO")
+                .valor(BigDecimal.valueOf(1_000 + i, 2))
+                .pago(false)
+                .atrasado(false)
+                .recorrente(false)
+                .build();
+    }
+
+    private static long percentil(long[] ordenadas, double percentil) {
+        return ordenadas[(int) Math.ceil(percentil * ordenadas.length) - 1];
+    }
+
+    /**
+     * Amostra o pool a cada milissegundo enquanto a medição roda.
+     */
+    private static final class Pico {
+
+        private final AtomicBoolean ativo = new AtomicBoolean(true);
+        private final AtomicInteger conexoesEmUso = new AtomicInteger();
+        private final AtomicInteger threadsEsperando = new AtomicInteger();
+        private final Thread amostrador;
+
+        private Pico(HikariPoolMXBean pool) {
+            this.amostrador = Thread.ofPlatform().daemon().start(() -> {
+                while (ativo.get()) {
+                    conexoesEmUso.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                    threadsEsperando.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        private void parar() throws InterruptedException {
+            ativo.set(false);
+            amostrador.join();
+        }
+
+        private int conexoesEmUso() {
+            return conexoesEmUso.get();
+        }
+
+        private int threadsEsperando() {
+            return threadsEsperando.get();
+        }
+
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.isdisponivel.ready.service;
+
+import com.isdisponivel.ready.model.Gastos;
+import com.isdisponivel.ready.repository.GastosArmazenamento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GastosCarregadorTest {
+
+    private static final long SEM_PRAZO_MS = 60_000;
+
+    private final GastosArmazenamento gastosArmazenamento = mock(GastosArmazenamento.class);
+
+    private GastosCarregador carregador;
+
+    @AfterEach
+    void encerrar() {
+        carregador.encerrar();
+    }
+
+    @Test
+    void buscasSimultaneasDoMesmoIdViramUmaConsulta() throws Exception {
+        devolverGastosExistentes();
+        carregador = novoCarregador(2, SEM_PRAZO_MS, SEM_PRAZO_MS);
+
+        List<Thread> threads = new ArrayList<>();
+        List<CompletableFuture<Optional<Gastos>>> resultados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<Optional<Gastos>> resultado = new CompletableFuture<>();
+            resultados.add(resultado);
+            threads.add(Thread.ofPlatform().start(() -> resultado.complete(carregador.carregar(1L))));
+        }
+        aguardarBloqueadas(threads);
+
+        // Segundo ID distinto completa o lote de dois
+        assertThat(carregador.carregar(2L)).isPresent();
+
+        for (CompletableFuture<Optional<Gastos>> resultado : resultados) {
+            assertThat(resultado.get(5, TimeUnit.SECONDS)).hasValueSatisfying(
+                    gastos -> assertThat(gastos.getId()).isEqualTo(1L));
+        }
+        assertThat(idsConsultados()).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    void loteCheioEDespachadoSemEsperarOPrazo() throws Exception {
+        devolverGastosExistentes();
+        carregador = novoCarregador(3, SEM_PRAZO_MS, SEM_PRAZO_MS);
+
+        List<CompletableFuture<Optional<Gastos>>> resultados = List.of(
+                emOutraThread(() -> carregador.carregar(1L)),
+                emOutraThread(() -> carregador.carregar(2L)),
+                emOutraThread(() -> carregador.carregar(3L)));
+
+        for (CompletableFuture<Optional<Gastos>> resultado : resultados) {
+            assertThat(resultado.get(5, TimeUnit.SECONDS)).isPresent();
+        }
+        assertThat(idsConsultados()).containsExactly(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void loteIncompletoEDespachadoAposMaxEspera() {
+        devolverGastosExistentes();
+        carregador = novoCarregador(50, 50, SEM_PRAZO_MS);
+
+        long inicio = System.nanoTime();
+        Optional<Gastos> gastos = carregador.carregar(7L);
+
+        assertThat(gastos).isPresent();
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(idsConsultados()).containsExactly(List.of(7L));
+    }
+
+    @Test
+    void idInexistenteResultaEmVazio() {
+        when(gastosArmazenamento.buscarPorIds(any())).thenReturn(Map.of());
+        carregador = novoCarregador(50, 1, SEM_PRAZO_MS);
+
+        assertThat(carregador.carregar(99L)).isEmpty();
+    }
+
+    @Test
+    void falhaDaConsultaChegaATodosDoLote() throws Exception {
+        DataAccessResourceFailureException falha = new DataAccessResourceFailureException("banco fora do ar");
+        when(gastosArmazenamento.buscarPorIds(any())).thenThrow(falha);
+        carregador = novoCarregador(2, SEM_PRAZO_MS, SEM_PRAZO_MS);
+
+        CompletableFuture<Optional<Gastos>> primeiro = emOutraThread(() -> carregador.carregar(1L));
+        CompletableFuture<Optional<Gastos>> segundo = emOutraThread(() -> carregador.carregar(2L));
+
+        assertThatThrownBy(() -> primeiro.get(5, TimeUnit.SECONDS)).hasCause(falha);
+        assertThatThrownBy(() -> segundo.get(5, TimeUnit.SECONDS)).hasCause(falha);
+    }
+
+    @Test
+    void errorDaConsultaTambemChegaAQuemEspera() {
+        when(gastosArmazenamento.buscarPorIds(any())).thenThrow(new StackOverflowError("simulado"));
+        carregador = novoCarregador(50, 1, SEM_PRAZO_MS);
+
+        assertThatThrownBy(() -> carregador.carregar(1L)).isInstanceOf(StackOverflowError.class);
+    }
+
+    @Test
+    void consultaLentaEsgotaOTempoDeEspera() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(gastosArmazenamento.buscarPorIds(any())).thenAnswer(invocacao -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+        carregador = novoCarregador(50, 1, 100);
+
+        try {
+            assertThatThrownBy(() -> carregador.carregar(1L)).isInstanceOf(QueryTimeoutException.class);
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    void aposEncerrarFalhaEmVezDeTravar() {
+        devolverGastosExistentes();
+        carregador = novoCarregador(50, 1, SEM_PRAZO_MS);
+        carregador.encerrar();
+
+        assertThatThrownBy(() -> carregador.carregar(1L)).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    // ==================== HELPER ====================
+
+    private GastosCarregador novoCarregador(int maxLote, long maxEsperaMs, long timeoutMs) {
+        return new GastosCarregador(gastosArmazenamento, new SimpleMeterRegistry(), true,
+                maxLote, maxEsperaMs, timeoutMs, 2);
+    }
+
+    private void devolverGastosExistentes() {
+        when(gastosArmazenamento.buscarPorIds(any())).thenAnswer(invocacao -> {
+            Collection<Long> ids = invocacao.getArgument(0);
+            return ids.stream().collect(Collectors.toMap(Function.identity(), GastosCarregadorTest::novoGasto));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Long>> idsConsultados() {
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(gastosArmazenamento, times(1)).buscarPorIds(ids.capture());
+        return ids.getAllValues().stream().map(lote -> lote.stream().sorted().toList()).toList();
+    }
+
+    private static <T> CompletableFuture<T> emOutraThread(Supplier<T> tarefa) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        Thread.ofPlatform().daemon().start(() -> {
+            try {
+                resultado.complete(tarefa.get());
+            } catch (Throwable ex) {
+                resultado.completeExceptionally(ex);
+            }
+        });
+        return resultado;
+    }
+
+    private static void aguardarBloqueadas(List<Thread> threads) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+            assertThat(System.nanoTime()).as("threads bloqueadas aguardando o lote").isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+
+    private static Gastos novoGasto(Long id) {
+        return Gastos.builder()
+                .id(id)
+                .descricao("Gasto " + id)
+                .formaDePagamento("PIX")
+                .valor(new BigDecimal("100.00"))
+                .pago(false)
+                .atrasado(false)
+                .recorrente(false)
+                .build();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.isdisponivel.ready.service;
+
+import com.isdisponivel.ready.dto.FiltroGastosDTO;
+import com.isdisponivel.ready.repository.GastosArmazenamento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class GastosServiceTest {
+
+    private final GastosArmazenamento gastosArmazenamento = mock(GastosArmazenamento.class);
+
+    private final GastosService gastosService = new GastosService(gastosArmazenamento, mock(GastosCarregador.class));
+
+    @AfterEach
+    void nadaChegaAoArmazenamento() {
+        verifyNoInteractions(gastosArmazenamento);
+    }
+
+    // ordenarPor vira ORDER BY; fora da lista não pode chegar à consulta
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"versao", "id", "data_criacao", "dataCriacao; DROP TABLE produto_ent", ""})
+    void pesquisarRejeitaOrdenacaoForaDaListaPermitida(String ordenarPor) {
+        FiltroGastosDTO filtro = FiltroGastosDTO.builder().ordenarPor(ordenarPor).build();
+
+        assertThatThrownBy(() -> gastosService.pesquisar(filtro))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ordenação permitida apenas por");
+    }
+
+    @Test
+    void pesquisarRejeitaFaixaDeValoresInvertida() {
+        FiltroGastosDTO filtro = FiltroGastosDTO.builder()
+                .valorMinimo(new BigDecimal("200.00")).valorMaximo(new BigDecimal("100.00")).build();
+
+        assertThatThrownBy(() -> gastosService.pesquisar(filtro)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pesquisarRejeitaPeriodoInvertido() {
+        LocalDateTime agora = LocalDateTime.now();
+        FiltroGastosDTO filtro = FiltroGastosDTO.builder().dataInicio(agora).dataFim(agora.minusDays(1)).build();
+
+        assertThatThrownBy(() -> gastosService.pesquisar(filtro)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}